@@ -0,0 +1,127 @@
+package rjsv.circularview;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal JMH style harness. Runs an operation through warmup and measurement iterations on the calling thread, then
+ * reports the time and the bytes allocated per operation, as JSON under the directory set by the
+ * {@code circularview.benchmark.outputDir} system property.
+ */
+final class BenchmarkRunner {
+
+    private static final String OUTPUT_DIRECTORY = System.getProperty("circularview.benchmark.outputDir",
+            "build/outputs/benchmarks");
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("circularview.benchmark.warmupIterations", 5);
+    private static final int MEASUREMENT_ITERATIONS = Integer.getInteger("circularview.benchmark.measurementIterations", 10);
+
+    private final String suite;
+    private final List<Result> results = new ArrayList<>();
+
+    BenchmarkRunner(String suite) {
+        this.suite = suite;
+    }
+
+    /**
+     * @param unit                   what a single operation stands for, e.g. "frame"
+     * @param operationsPerIteration operations performed by every run of the iteration
+     */
+    Result measure(String name, String unit, int operationsPerIteration, Runnable iteration) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration.run();
+        }
+        double minimumNanos = Double.MAX_VALUE;
+        double maximumNanos = 0;
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long bytesBefore = AllocationCounter.currentThreadAllocatedBytes();
+            long startNanos = System.nanoTime();
+            iteration.run();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            totalBytes += AllocationCounter.currentThreadAllocatedBytes() - bytesBefore;
+            totalNanos += elapsedNanos;
+            double nanosPerOperation = (double) elapsedNanos / operationsPerIteration;
+            minimumNanos = Math.min(minimumNanos, nanosPerOperation);
+            maximumNanos = Math.max(maximumNanos, nanosPerOperation);
+        }
+        long operations = (long) MEASUREMENT_ITERATIONS * operationsPerIteration;
+        Result result = new Result(name, unit, operationsPerIteration, (double) totalNanos / operations, minimumNanos,
+                maximumNanos, AllocationCounter.isSupported() ? (double) totalBytes / operations : Double.NaN);
+        results.add(result);
+        System.out.println(suite + "." + result);
+        return result;
+    }
+
+    /**
+     * Writes every result measured so far to {@code <suite>.json}.
+     */
+    File writeReport() throws IOException {
+        File directory = new File(OUTPUT_DIRECTORY);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can not create " + directory);
+        }
+        File report = new File(directory, suite + ".json");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(report), "UTF-8");
+        try {
+            writer.write("{\n");
+            writer.write("  \"suite\": \"" + suite + "\",\n");
+            writer.write("  \"jvm\": \"" + System.getProperty("java.vm.name") + " " + System.getProperty("java.version") + "\",\n");
+            writer.write("  \"warmupIterations\": " + WARMUP_ITERATIONS + ",\n");
+            writer.write("  \"measurementIterations\": " + MEASUREMENT_ITERATIONS + ",\n");
+            writer.write("  \"results\": [\n");
+            for (int i = 0; i < results.size(); i++) {
+                writer.write("    " + results.get(i).toJson() + (i < results.size() - 1 ? ",\n" : "\n"));
+            }
+            writer.write("  ]\n");
+            writer.write("}\n");
+        } finally {
+            writer.close();
+        }
+        return report;
+    }
+
+    static final class Result {
+
+        final String name;
+        final String unit;
+        final int operationsPerIteration;
+        final double nanosPerOperation;
+        final double minimumNanosPerOperation;
+        final double maximumNanosPerOperation;
+        final double bytesPerOperation;
+
+        Result(String name, String unit, int operationsPerIteration, double nanosPerOperation,
+               double minimumNanosPerOperation, double maximumNanosPerOperation, double bytesPerOperation) {
+            this.name = name;
+            this.unit = unit;
+            this.operationsPerIteration = operationsPerIteration;
+            this.nanosPerOperation = nanosPerOperation;
+            this.minimumNanosPerOperation = minimumNanosPerOperation;
+            this.maximumNanosPerOperation = maximumNanosPerOperation;
+            this.bytesPerOperation = bytesPerOperation;
+        }
+
+        String toJson() {
+            return String.format(Locale.US, "{\"name\": \"%s\", \"unit\": \"%s\", \"operationsPerIteration\": %d, "
+                            + "\"nsPerOp\": %.1f, \"nsPerOpMin\": %.1f, \"nsPerOpMax\": %.1f, \"bytesPerOp\": %s}",
+                    name, unit, operationsPerIteration, nanosPerOperation, minimumNanosPerOperation,
+                    maximumNanosPerOperation,
+                    Double.isNaN(bytesPerOperation) ? "null" : String.format(Locale.US, "%.1f", bytesPerOperation));
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s: %.1f ns/%s (min %.1f), %.1f bytes/%s", name, nanosPerOperation, unit,
+                    minimumNanosPerOperation, bytesPerOperation, unit);
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.WindowManager;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares creating views from inflated attributes with creating them from a shared {@link CircleViewStyle}, and
+ * updating the values of a recycled view through the setters with {@link CircleView#bind(float, float, float)}.
+ * Robolectric's shadow of {@link View#invalidate()} allocates about 440 bytes per call, which shows in the bytes of
+ * the operations that invalidate the whole view.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class BindingBenchmark {
+
+    private static final int SIZE = 400;
+    private static final int CREATIONS = 200;
+    private static final int UPDATES = 2000;
+
+    private final BenchmarkRunner runner = new BenchmarkRunner("BindingBenchmark");
+    private Context context;
+    private AttributeSet attributes;
+    private CircleViewStyle style;
+    private CircleView circleView;
+
+    @Before
+    public void setUp() {
+        ShadowLooper.pauseMainLooper();
+        context = RuntimeEnvironment.application;
+        attributes = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.arcColor, "#ffdddddd")
+                .addAttribute(R.attr.arcWidth, "4dp")
+                .addAttribute(R.attr.progressColor, "#ff3f51b5")
+                .addAttribute(R.attr.progressWidth, "8dp")
+                .addAttribute(R.attr.indicatorColor, "#ffff4081")
+                .addAttribute(R.attr.textSize, "24sp")
+                .addAttribute(R.attr.textColor, "#ff212121")
+                .addAttribute(R.attr.textDecimalPlaces, "0")
+                .build();
+        style = new CircleViewStyle.Builder(context)
+                .setArcColor(0xffdddddd)
+                .setArcWidth(12)
+                .setProgressColor(0xff3f51b5)
+                .setProgressWidth(24)
+                .setIndicatorColor(0xffff4081)
+                .setTextSize(72)
+                .setTextColor(0xff212121)
+                .setTextDecimalPlaces(0)
+                .build();
+        circleView = new CircleView(context, style);
+        FrameLayout container = new FrameLayout(context);
+        container.addView(circleView);
+        WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        windowManager.addView(container, new WindowManager.LayoutParams(SIZE, SIZE));
+        circleView.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        circleView.layout(0, 0, SIZE, SIZE);
+    }
+
+    @Test
+    public void benchmark() throws Exception {
+        measureCreation();
+        measureUpdate();
+        assertTrue(runner.writeReport().isFile());
+    }
+
+    private void measureCreation() {
+        runner.measure("create.attributes", "view", CREATIONS, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < CREATIONS; i++) {
+                    new CircleView(context, attributes);
+                }
+            }
+        });
+        runner.measure("create.style", "view", CREATIONS, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < CREATIONS; i++) {
+                    new CircleView(context, style);
+                }
+            }
+        });
+        runner.measure("setStyle", "view", CREATIONS, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < CREATIONS; i++) {
+                    circleView.setStyle(style);
+                }
+            }
+        });
+    }
+
+    private void measureUpdate() {
+        runner.measure("update.setters", "item", UPDATES, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < UPDATES; i++) {
+                    // as an adapter would rebind an item with its own range
+                    circleView.setMinimumValue(0);
+                    circleView.setMaximumValue(100 + i % 2 * 100);
+                    circleView.setProgressValue(i % 100);
+                }
+            }
+        });
+        runner.measure("update.bind", "item", UPDATES, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < UPDATES; i++) {
+                    circleView.bind(i % 100, 0, 100 + i % 2 * 100);
+                }
+            }
+        });
+    }
+
+}
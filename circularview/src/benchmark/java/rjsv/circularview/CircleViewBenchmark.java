@@ -0,0 +1,163 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.WindowManager;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Transformation;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Headless benchmarks of the hot paths of a {@link CircleView}: drawing, touch move processing, setting the value and
+ * running whole animations with either animation engine, drawing every frame. Drawing goes to a {@link NullCanvas}.
+ * Run with {@code ./gradlew :circularview:testDebugUnitTest -Pbenchmark}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class CircleViewBenchmark {
+
+    private static final int SIZE = 400;
+    private static final int OPERATIONS = 2000;
+    private static final int ANIMATION_RUNS = 10;
+    private static final long ANIMATION_DURATION_MILLISECONDS = 1000;
+    private static final long FRAME_MILLISECONDS = 16;
+
+    private final BenchmarkRunner runner = new BenchmarkRunner("CircleViewBenchmark");
+    private final NullCanvas canvas = new NullCanvas();
+    private CircleView circleView;
+
+    @Before
+    public void setUp() {
+        ShadowLooper.pauseMainLooper();
+        circleView = new CircleView(RuntimeEnvironment.application);
+        FrameLayout container = new FrameLayout(RuntimeEnvironment.application);
+        container.addView(circleView);
+        WindowManager windowManager = (WindowManager) RuntimeEnvironment.application.getSystemService(Context.WINDOW_SERVICE);
+        windowManager.addView(container, new WindowManager.LayoutParams(SIZE, SIZE));
+        circleView.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        circleView.layout(0, 0, SIZE, SIZE);
+    }
+
+    @Test
+    public void benchmark() throws Exception {
+        measureDraw();
+        measureTouchMove();
+        measureSetProgressValue();
+        measureAnimationRun();
+        measureAnimatorRun();
+        assertTrue(runner.writeReport().isFile());
+    }
+
+    private void measureDraw() {
+        circleView.setProgressValue(42);
+        runner.measure("draw", "frame", OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    circleView.onDraw(canvas);
+                }
+            }
+        });
+        runner.measure("draw.valueChanged", "frame", OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    circleView.setAnimatedAngle(i * 0.17f % 360);
+                    circleView.onDraw(canvas);
+                }
+            }
+        });
+    }
+
+    private void measureTouchMove() {
+        final float center = SIZE / 2f;
+        final float radius = SIZE / 3f;
+        long downTime = SystemClock.uptimeMillis();
+        final MotionEvent down = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, center, center - radius, 0);
+        // back and forth along the arc, one degree per event, away from the top where the value wraps
+        final MotionEvent[] moves = new MotionEvent[680];
+        for (int i = 0; i < moves.length; i++) {
+            double angle = Math.toRadians(10 + (i < 340 ? i : 679 - i));
+            moves[i] = MotionEvent.obtain(downTime, downTime + i, MotionEvent.ACTION_MOVE,
+                    (float) (center + radius * Math.sin(angle)), (float) (center - radius * Math.cos(angle)), 0);
+        }
+        runner.measure("touchMove", "event", OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                circleView.onTouchEvent(down);
+                for (int i = 0; i < OPERATIONS; i++) {
+                    circleView.onTouchEvent(moves[i % moves.length]);
+                }
+            }
+        });
+    }
+
+    private void measureSetProgressValue() {
+        runner.measure("setProgressValue", "call", OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    circleView.setProgressValue(i * 0.7f % 100);
+                }
+            }
+        });
+    }
+
+    private void measureAnimationRun() {
+        final CircleViewAnimation animation = new CircleViewAnimation().setCircleView(circleView);
+        animation.setDuration(ANIMATION_DURATION_MILLISECONDS);
+        final Transformation transformation = new Transformation();
+        final int framesPerRun = (int) (ANIMATION_DURATION_MILLISECONDS / FRAME_MILLISECONDS) + 2;
+        runner.measure("animation.run", "frame", ANIMATION_RUNS * framesPerRun, new Runnable() {
+            @Override
+            public void run() {
+                for (int run = 0; run < ANIMATION_RUNS; run++) {
+                    animation.start(0, 100);
+                    // applied as the platform does when drawing, Robolectric's runner ignores the clock
+                    for (int frame = 0; frame < framesPerRun; frame++) {
+                        long frameTimeMillis = 1000 + frame * FRAME_MILLISECONDS;
+                        AnimationUtils.lockAnimationClock(frameTimeMillis);
+                        animation.getTransformation(frameTimeMillis, transformation);
+                        AnimationUtils.unlockAnimationClock();
+                        circleView.onDraw(canvas);
+                    }
+                    animation.stop();
+                }
+            }
+        });
+    }
+
+    private void measureAnimatorRun() {
+        final ManualFrameClock frameClock = new ManualFrameClock();
+        final CircleViewAnimator animator = new CircleViewAnimator(frameClock)
+                .setCircleView(circleView)
+                .setDuration(ANIMATION_DURATION_MILLISECONDS);
+        final int framesPerRun = (int) (ANIMATION_DURATION_MILLISECONDS * 1000000L / ManualFrameClock.FRAME_NANOS) + 2;
+        runner.measure("animator.run", "frame", ANIMATION_RUNS * framesPerRun, new Runnable() {
+            @Override
+            public void run() {
+                for (int run = 0; run < ANIMATION_RUNS; run++) {
+                    animator.startAngles(0, 360);
+                    for (int frame = 0; frame < framesPerRun; frame++) {
+                        frameClock.runFrames(1);
+                        circleView.onDraw(canvas);
+                    }
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,126 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.WindowManager;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import rjsv.circularview.utils.AngleUtils;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the exact and the fast math paths: the touch angle conversion on its own and through touch move events,
+ * and the indicator position update through animated angles.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class FastMathBenchmark {
+
+    private static final int SIZE = 400;
+    private static final int OPERATIONS = 2000;
+    private static final int CONVERSIONS = 100000;
+
+    private final BenchmarkRunner runner = new BenchmarkRunner("FastMathBenchmark");
+    private final float[] pointsX = new float[CONVERSIONS];
+    private final float[] pointsY = new float[CONVERSIONS];
+    private CircleView circleView;
+    private MotionEvent down;
+    private MotionEvent[] moves;
+    // consumed results, so that the conversions are not optimized away
+    private float angleSum;
+
+    @Before
+    public void setUp() {
+        ShadowLooper.pauseMainLooper();
+        circleView = new CircleView(RuntimeEnvironment.application);
+        FrameLayout container = new FrameLayout(RuntimeEnvironment.application);
+        container.addView(circleView);
+        WindowManager windowManager = (WindowManager) RuntimeEnvironment.application.getSystemService(Context.WINDOW_SERVICE);
+        windowManager.addView(container, new WindowManager.LayoutParams(SIZE, SIZE));
+        circleView.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        circleView.layout(0, 0, SIZE, SIZE);
+
+        for (int i = 0; i < CONVERSIONS; i++) {
+            double angle = Math.toRadians(i * 0.01);
+            pointsX[i] = (float) (SIZE / 3 * Math.sin(angle));
+            pointsY[i] = (float) (SIZE / 3 * -Math.cos(angle));
+        }
+        float center = SIZE / 2f;
+        float radius = SIZE / 3f;
+        long downTime = SystemClock.uptimeMillis();
+        down = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, center, center - radius, 0);
+        // back and forth along the arc, one degree per event, away from the top where the value wraps
+        moves = new MotionEvent[680];
+        for (int i = 0; i < moves.length; i++) {
+            double angle = Math.toRadians(10 + (i < 340 ? i : 679 - i));
+            moves[i] = MotionEvent.obtain(downTime, downTime + i, MotionEvent.ACTION_MOVE,
+                    (float) (center + radius * Math.sin(angle)), (float) (center - radius * Math.cos(angle)), 0);
+        }
+    }
+
+    @Test
+    public void benchmark() throws Exception {
+        measureConversions();
+        measure(false);
+        measure(true);
+        assertTrue(runner.writeReport().isFile());
+    }
+
+    private void measureConversions() {
+        runner.measure("pointToAngle", "call", CONVERSIONS, new Runnable() {
+            @Override
+            public void run() {
+                float sum = 0;
+                for (int i = 0; i < CONVERSIONS; i++) {
+                    sum += AngleUtils.pointToAngle(pointsX[i], pointsY[i], true);
+                }
+                angleSum += sum;
+            }
+        });
+        runner.measure("fastPointToAngle", "call", CONVERSIONS, new Runnable() {
+            @Override
+            public void run() {
+                float sum = 0;
+                for (int i = 0; i < CONVERSIONS; i++) {
+                    sum += AngleUtils.fastPointToAngle(pointsX[i], pointsY[i], true);
+                }
+                angleSum += sum;
+            }
+        });
+    }
+
+    private void measure(boolean fastMathEnabled) {
+        circleView.setFastMathEnabled(fastMathEnabled);
+        String suffix = fastMathEnabled ? ".fast" : ".exact";
+        runner.measure("touchMove" + suffix, "event", OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                circleView.onTouchEvent(down);
+                for (int i = 0; i < OPERATIONS; i++) {
+                    circleView.onTouchEvent(moves[i % moves.length]);
+                }
+            }
+        });
+        runner.measure("setAnimatedAngle" + suffix, "call", OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    circleView.setAnimatedAngle(i * 0.17f % 360);
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,86 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.View;
+import android.view.WindowManager;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Locale;
+
+import rjsv.circularview.enumerators.StaticLayerMode;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares drawing a view without its static layer cache, with a bitmap cache and with a display list: every frame
+ * with a new value, which the cache serves, and every frame after changing the arc colour, which rebuilds the cache. The canvas discards the calls, so
+ * the figures are the cost of what the view does on the CPU, not the cost of rasterizing it. Robolectric's pictures
+ * record into a new bitmap of the view's size, so rebuilding the display list costs far more here than on a device.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class StaticLayerBenchmark {
+
+    private static final int SIZE = 400;
+    private static final int OPERATIONS = 2000;
+    private static final int REBUILD_OPERATIONS = 200;
+
+    private final BenchmarkRunner runner = new BenchmarkRunner("StaticLayerBenchmark");
+    private final NullCanvas canvas = new NullCanvas();
+    private CircleView circleView;
+
+    @Before
+    public void setUp() {
+        ShadowLooper.pauseMainLooper();
+        circleView = new CircleView(RuntimeEnvironment.application);
+        circleView.setProgressValue(42);
+        FrameLayout container = new FrameLayout(RuntimeEnvironment.application);
+        container.addView(circleView);
+        WindowManager windowManager = (WindowManager) RuntimeEnvironment.application.getSystemService(Context.WINDOW_SERVICE);
+        windowManager.addView(container, new WindowManager.LayoutParams(SIZE, SIZE));
+        circleView.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        circleView.layout(0, 0, SIZE, SIZE);
+    }
+
+    @Test
+    public void benchmark() throws Exception {
+        measure(StaticLayerMode.NONE);
+        measure(StaticLayerMode.BITMAP);
+        measure(StaticLayerMode.DISPLAY_LIST);
+        assertTrue(runner.writeReport().isFile());
+    }
+
+    private void measure(StaticLayerMode mode) {
+        circleView.setStaticLayerMode(mode);
+        String prefix = "draw." + mode.name().toLowerCase(Locale.US);
+        runner.measure(prefix + ".valueChanged", "frame", OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    circleView.setAnimatedAngle(i * 0.17f % 360);
+                    circleView.onDraw(canvas);
+                }
+            }
+        });
+        runner.measure(prefix + ".arcColorChanged", "frame", REBUILD_OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < REBUILD_OPERATIONS; i++) {
+                    circleView.setArcColor(i % 2 == 0 ? Color.LTGRAY : Color.GRAY);
+                    circleView.onDraw(canvas);
+                }
+            }
+        });
+    }
+
+}
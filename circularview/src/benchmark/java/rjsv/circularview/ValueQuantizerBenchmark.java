@@ -0,0 +1,75 @@
+package rjsv.circularview;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import rjsv.circularview.utils.ValueQuantizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares quantizing arbitrary values, which the fast path rounds at once, with quantizing exact ties, which need the
+ * shortest decimal search, and checks that neither allocates.
+ */
+public class ValueQuantizerBenchmark {
+
+    private static final int SCALE = 2;
+    private static final int OPERATIONS = 100000;
+
+    private final BenchmarkRunner runner = new BenchmarkRunner("ValueQuantizerBenchmark");
+    private final ValueQuantizer quantizer = new ValueQuantizer(SCALE, RoundingMode.HALF_UP);
+    private final float[] values = new float[OPERATIONS];
+    private final float[] ties = new float[OPERATIONS];
+    // consumed results, so that the rounding is not optimized away
+    private long unitSum;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            values[i] = random.nextFloat() * 1000;
+            // e.g. 123.455, half way between two units of the scale
+            ties[i] = new BigDecimal(random.nextInt(100000) * 10L + 5).movePointLeft(SCALE + 1).floatValue();
+        }
+    }
+
+    @Test
+    public void benchmark() throws Exception {
+        BenchmarkRunner.Result typical = measure("toUnits.float.typical", values);
+        BenchmarkRunner.Result tie = measure("toUnits.float.tie", ties);
+        runner.measure("toUnits.double.typical", "value", OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                long sum = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    sum += quantizer.toUnits((double) values[i]);
+                }
+                unitSum += sum;
+            }
+        });
+        assertTrue(runner.writeReport().isFile());
+        if (AllocationCounter.isSupported()) {
+            assertEquals(0, typical.bytesPerOperation, 0.01);
+            assertEquals(0, tie.bytesPerOperation, 0.01);
+        }
+    }
+
+    private BenchmarkRunner.Result measure(String name, final float[] input) {
+        return runner.measure(name, "value", OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                long sum = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    sum += quantizer.toUnits(input[i]);
+                }
+                unitSum += sum;
+            }
+        });
+    }
+
+}
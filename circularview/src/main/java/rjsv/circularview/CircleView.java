@@ -2,25 +2,58 @@ package rjsv.circularview;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Matrix;
 import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Picture;
 import android.graphics.Rect;
 import android.graphics.RectF;
+import android.graphics.SweepGradient;
 import android.graphics.Typeface;
 import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
 import android.support.v4.content.ContextCompat;
+import android.support.v4.view.AccessibilityDelegateCompat;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
-
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityManager;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import java.math.RoundingMode;
+
+import rjsv.circularview.enumerators.AggregationMode;
+import rjsv.circularview.enumerators.DispatchPolicy;
+import rjsv.circularview.enumerators.ProgressColorMode;
+import rjsv.circularview.enumerators.StaticLayerMode;
+import rjsv.circularview.utils.AngleUtils;
+import rjsv.circularview.utils.ColorRamp;
 import rjsv.circularview.utils.GeneralUtils;
+import rjsv.circularview.utils.TrigTable;
+import rjsv.circularview.utils.TypefaceCache;
+import rjsv.circularview.utils.ValueMailbox;
+import rjsv.circularview.utils.ValueQuantizer;
 
 public class CircleView extends View {
 
     // -90 offset indicates that the progress starts from 0h
     private static final int ANGLE_OFFSET = -90;
+    // beyond this amount the ticks would merge into a solid ring
+    private static final int MAXIMUM_STEP_TICKS = 360;
     private static final int CLICK_THRESHOLD = 5;
+    // values crossed by a scroll accessibility action when no step is set, as the platform's SeekBar does
+    private static final int ACCESSIBILITY_SCROLL_INCREMENTS = 20;
+    // value changes are announced once they settle, as the platform's ProgressBar does
+    private static final long ACCESSIBILITY_EVENT_DELAY_MILLISECONDS = 200;
     private static int circlePadding = 25;
     private boolean isCircleClockwise = true;
     private boolean isRotationEnabled = true;
@@ -38,6 +71,29 @@ public class CircleView extends View {
     private float progressStep = 0;
     private boolean progressStepAsInteger = false;
     private Paint progressPaint;
+    private int progressColor;
+    private ProgressColorMode progressColorMode = ProgressColorMode.SOLID;
+    private ColorRamp progressColorRamp;
+    private Matrix progressShaderMatrix = new Matrix();
+    /**
+     * Step Grid Configuration
+     */
+    private float progressStepAngle;
+    private float progressStepMinimumAngle;
+    private long progressStepCount;
+    // index of the step the value was last snapped to while dragging, -1 if unknown
+    private long progressStepIndex = -1;
+    private boolean stepTicksEnabled = false;
+    private Paint stepTickPaint;
+    private Path stepTickPath = new Path();
+    private boolean stepTickPathDirty = true;
+    /**
+     * Segments Configuration. When segments exist, they replace the progress arc
+     */
+    private Paint[] segmentPaints = new Paint[0];
+    private float[] segmentValues = new float[0];
+    private float[] segmentAngles = new float[0];
+    private float segmentsTotalAngle = 0;
     /**
      * Arc Configuration
      */
@@ -47,6 +103,14 @@ public class CircleView extends View {
     private boolean arcHasBorder = false;
     private int arcWidth = 20;
     private int arcRadius = 0;
+    /**
+     * Static Layer Cache Configuration
+     */
+    private StaticLayerMode staticLayerMode = StaticLayerMode.NONE;
+    private boolean staticLayerDirty = true;
+    private Bitmap staticLayerBitmap;
+    private Canvas staticLayerCanvas;
+    private Picture staticLayerPicture;
     /**
      * Indicator Configuration
      */
@@ -61,27 +125,155 @@ public class CircleView extends View {
     private float textSize = 72;
     private int textColor;
     private int textDecimalPlaces = 1;
+    private RoundingMode valueRoundingMode = RoundingMode.HALF_UP;
+    private ValueQuantizer valueQuantizer;
+    // fixed point representation of the current value, in units of 10^-textDecimalPlaces
+    private long progressUnits;
     private Paint textPaint;
-    private Rect textRect = new Rect();
     private Typeface textTypeFace = Typeface.DEFAULT;
+    private CircleViewTextRenderer textRenderer;
     /**
      * Suffix Text Configuration
      */
     private boolean suffixEnabled = false;
     private String suffixValue = "";
     private Paint suffixPaint;
-    private Rect suffixRect;
     /**
      * Auxiliary Variables
      */
     private float translationOnX;
     private float translationOnY;
+    private CircleViewGeometry geometry;
     private float indicationPositionX;
     private float indicationPositionY;
+    private boolean fastMathEnabled = false;
+    private TrigTable trigTable;
     private float touchStartX;
     private float touchStartY;
+    private float touchAngle;
+    private RectF dirtyBounds = new RectF();
+    private Rect dirtyRect = new Rect();
+    /**
+     * Values posted from other threads
+     */
+    private ValueMailbox valueMailbox = new ValueMailbox();
+    private AggregationMode postedValueAggregation = AggregationMode.LATEST;
+    private Runnable postedValueConsumer = new Runnable() {
+        @Override
+        public void run() {
+            if (valueMailbox.consume()) {
+                float postedValue = valueMailbox.getValue(postedValueAggregation);
+                if (dataSourceBinding != null) {
+                    dataSourceBinding.apply(postedValue);
+                } else {
+                    setProgressValue(postedValue);
+                }
+            }
+            if (valueMailbox.isPending()) {
+                // a writer was still adding its value, which is taken on the next frame rather than waited for
+                ViewCompat.postOnAnimation(CircleView.this, this);
+            }
+        }
+    };
+    // hops from the posting thread to the UI thread, where the consumer is aligned with the next frame
+    private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+    private Runnable postedValueScheduler = new Runnable() {
+        @Override
+        public void run() {
+            ViewCompat.postOnAnimation(CircleView.this, postedValueConsumer);
+        }
+    };
+    private CircleViewBinding dataSourceBinding;
+    /**
+     * Accessibility, publishing the value range and the text already laid out for drawing, and adjusting the value as
+     * the platform's SeekBar does
+     */
+    private AccessibilityManager accessibilityManager;
+    private final AccessibilityDelegateCompat accessibilityDelegate = new AccessibilityDelegateCompat() {
+        @Override
+        public void onInitializeAccessibilityNodeInfo(View host, AccessibilityNodeInfoCompat info) {
+            super.onInitializeAccessibilityNodeInfo(host, info);
+            // announced by accessibility services as a slider
+            info.setClassName("android.widget.SeekBar");
+            info.setRangeInfo(AccessibilityNodeInfoCompat.RangeInfoCompat.obtain(
+                    AccessibilityNodeInfoCompat.RangeInfoCompat.RANGE_TYPE_FLOAT,
+                    progressMinimumValue, progressMaximumValue, progressCurrentValue));
+            updateValueText();
+            info.setText(textRenderer.getText());
+            if (isEnabled()) {
+                if (progressCurrentValue > progressMinimumValue) {
+                    info.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD);
+                }
+                if (progressCurrentValue < progressMaximumValue) {
+                    info.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD);
+                }
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                    info.addAction(new AccessibilityNodeInfoCompat.AccessibilityActionCompat(
+                            android.R.id.accessibilityActionSetProgress, null));
+                }
+            }
+        }
+
+        @Override
+        public void onInitializeAccessibilityEvent(View host, AccessibilityEvent event) {
+            super.onInitializeAccessibilityEvent(host, event);
+            event.setClassName("android.widget.SeekBar");
+            // the value as a percentage of the range, from which accessibility services announce it
+            float range = progressMaximumValue - progressMinimumValue;
+            event.setItemCount(100);
+            event.setCurrentItemIndex(range > 0 ? Math.round((progressCurrentValue - progressMinimumValue) / range * 100) : 0);
+        }
+
+        @Override
+        public boolean performAccessibilityAction(View host, int action, Bundle arguments) {
+            if (super.performAccessibilityAction(host, action, arguments)) {
+                return true;
+            }
+            if (!isEnabled()) {
+                return false;
+            }
+            if (action == AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD
+                    || action == AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD) {
+                float increment = progressStep > 0
+                        ? progressStep : (progressMaximumValue - progressMinimumValue) / ACCESSIBILITY_SCROLL_INCREMENTS;
+                if (action == AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD) {
+                    increment = -increment;
+                }
+                return setProgressValueFromAccessibility(progressCurrentValue + increment);
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && action == android.R.id.accessibilityActionSetProgress
+                    && arguments != null && arguments.containsKey(AccessibilityNodeInfo.ACTION_ARGUMENT_PROGRESS_VALUE)) {
+                return setProgressValueFromAccessibility(arguments.getFloat(AccessibilityNodeInfo.ACTION_ARGUMENT_PROGRESS_VALUE));
+            }
+            return false;
+        }
+    };
+    private final Runnable accessibilityEventSender = new Runnable() {
+        @Override
+        public void run() {
+            sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        }
+    };
+    /**
+     * Rendering policy. While the view is not visible, invalidations are dropped and animations are paused
+     */
+    // a capped animation frame due this much before its interval is still applied
+    private static final long FRAME_CAP_TOLERANCE_NANOS = 4000000L;
+    private static final OnRenderingStateChangeListener[] NO_RENDERING_LISTENERS = new OnRenderingStateChangeListener[0];
+    private boolean renderingActive = true;
+    private boolean invalidationPending = false;
+    private int lowPowerFrameRate = 0;
+    private boolean lowPowerModeEnabled = false;
+    private boolean powerSaveMode = false;
+    // copy on write, so that listeners may be removed while being notified
+    private OnRenderingStateChangeListener[] renderingStateListeners = NO_RENDERING_LISTENERS;
+    /**
+     * Metrics, only measured while a sink other than the no-op one is set
+     */
+    private CircleViewMetricsSink metricsSink = CircleViewMetricsSink.NONE;
+    private boolean metricsEnabled = false;
     // Listener
-    private CircleViewChangeListener circleViewChangeListener;
+    private CircleViewChangeDispatcher circleViewChangeDispatcher = new CircleViewChangeDispatcher(this);
 
     // Constructors
     public CircleView(Context context) {
@@ -94,6 +286,28 @@ public class CircleView extends View {
         init(context, attrs);
     }
 
+    /**
+     * Creates a view from a shared style, skipping the attribute and resource resolution of XML inflation.
+     */
+    public CircleView(Context context, CircleViewStyle style) {
+        super(context);
+        arcPaint = new Paint();
+        arcBorderPaint = new Paint();
+        progressPaint = new Paint();
+        indicatorPaint = new Paint();
+        textPaint = new Paint();
+        suffixPaint = new Paint();
+        textRenderer = new CircleViewTextRenderer(textPaint, suffixPaint);
+        ViewCompat.setAccessibilityDelegate(this, accessibilityDelegate);
+        accessibilityManager = (AccessibilityManager) context.getSystemService(Context.ACCESSIBILITY_SERVICE);
+        stepTickPaint = new Paint();
+        stepTickPaint.setAntiAlias(true);
+        stepTickPaint.setStyle(Paint.Style.STROKE);
+        stepTickPaint.setStrokeWidth(getResources().getDisplayMetrics().density);
+        stepTickPaint.setColor(style.getArcBorderPaint().getColor());
+        setStyle(style);
+    }
+
     private void init(Context context, AttributeSet attrs) {
 
         float density = getResources().getDisplayMetrics().density;
@@ -101,9 +315,11 @@ public class CircleView extends View {
         // Defaults, may need to link this into theme settings
         int arcColor = getColor(context, R.color.color_arc);
         int arcBorderColor = getColor(context, R.color.color_arc_border);
-        int progressColor = getColor(context, R.color.color_progress);
+        progressColor = getColor(context, R.color.color_progress);
         textColor = getColor(context, R.color.color_text);
         int indicatorColor = getColor(context, R.color.color_indicator);
+        int stepTickColor = getColor(context, R.color.color_arc_border);
+        float stepTickWidth = density;
 
         progressWidth = (int) (progressWidth * density);
         arcWidth = (int) (arcWidth * density);
@@ -118,22 +334,36 @@ public class CircleView extends View {
             progressMaximumValue = a.getFloat(R.styleable.CircleView_progressMaximumValue, progressMaximumValue);
             progressStep = a.getFloat(R.styleable.CircleView_progressStepValue, progressStep);
             progressStepAsInteger = a.getBoolean(R.styleable.CircleView_progressStepAsInteger, progressStepAsInteger);
+            stepTicksEnabled = a.getBoolean(R.styleable.CircleView_stepTicksEnabled, stepTicksEnabled);
+            stepTickColor = a.getColor(R.styleable.CircleView_stepTickColor, stepTickColor);
+            stepTickWidth = a.getDimension(R.styleable.CircleView_stepTickWidth, stepTickWidth);
 
             progressWidth = (int) a.getDimension(R.styleable.CircleView_progressWidth, progressWidth);
             progressColor = a.getColor(R.styleable.CircleView_progressColor, progressColor);
+            progressColorMode = ProgressColorMode.values()[a.getInt(R.styleable.CircleView_progressColorMode, progressColorMode.ordinal())];
+            if (a.hasValue(R.styleable.CircleView_progressStartColor) || a.hasValue(R.styleable.CircleView_progressEndColor)) {
+                progressColorRamp = new ColorRamp(new int[]{
+                        a.getColor(R.styleable.CircleView_progressStartColor, progressColor),
+                        a.getColor(R.styleable.CircleView_progressEndColor, progressColor)}, null);
+            }
 
             arcWidth = (int) a.getDimension(R.styleable.CircleView_arcWidth, arcWidth);
             arcColor = a.getColor(R.styleable.CircleView_arcColor, arcColor);
             arcBorderColor = a.getColor(R.styleable.CircleView_arcBorderColor, arcBorderColor);
             arcHasBorder = a.getBoolean(R.styleable.CircleView_arcHasBorder, arcHasBorder);
+            if (a.getBoolean(R.styleable.CircleView_staticLayerCacheEnabled, false)) {
+                staticLayerMode = StaticLayerMode.BITMAP;
+            }
+            staticLayerMode = StaticLayerMode.values()[a.getInt(R.styleable.CircleView_staticLayerMode, staticLayerMode.ordinal())];
 
             textSize = (int) a.getDimension(R.styleable.CircleView_textSize, textSize);
             textColor = a.getColor(R.styleable.CircleView_textColor, textColor);
             textDecimalPlaces = a.getInteger(R.styleable.CircleView_textDecimalPlaces, textDecimalPlaces);
             textEnabled = a.getBoolean(R.styleable.CircleView_textEnabled, textEnabled);
             String textTypeFacePath = a.getString(R.styleable.CircleView_textFont);
-            if (textTypeFacePath != null && GeneralUtils.fileExistsInAssets(getContext(), textTypeFacePath)) {
-                textTypeFace = Typeface.createFromAsset(getResources().getAssets(), textTypeFacePath);
+            Typeface cachedTypeFace = TypefaceCache.get(getContext(), textTypeFacePath);
+            if (cachedTypeFace != null) {
+                textTypeFace = cachedTypeFace;
             }
 
             suffixEnabled = a.getBoolean(R.styleable.CircleView_suffixEnabled, suffixEnabled);
@@ -146,6 +376,7 @@ public class CircleView extends View {
 
             isCircleClockwise = a.getBoolean(R.styleable.CircleView_clockwise, isCircleClockwise);
             isRotationEnabled = a.getBoolean(R.styleable.CircleView_enabled, isRotationEnabled);
+            fastMathEnabled = a.getBoolean(R.styleable.CircleView_fastMathEnabled, fastMathEnabled);
             a.recycle();
         }
 
@@ -153,105 +384,222 @@ public class CircleView extends View {
         progressCurrentValue = (progressCurrentValue > progressMaximumValue) ? progressMaximumValue : progressCurrentValue;
         progressCurrentValue = (progressCurrentValue < progressMinimumValue) ? progressMinimumValue : progressCurrentValue;
 
+        updateValueQuantizer();
+        progressUnits = valueQuantizer.toUnits(progressCurrentValue);
+        progressCurrentValue = valueQuantizer.fromUnits(progressUnits);
         progressAngle = progressCurrentValue / valuePerDegree(progressMaximumValue);
+        progressStep = Math.max(0, progressStep);
+        updateStepGrid();
+        updateTrigTable();
+
+        arcPaint = CircleViewStyle.createStrokePaint(arcColor, arcWidth, Paint.Cap.ROUND);
+        arcBorderPaint = CircleViewStyle.createStrokePaint(arcBorderColor, (float) (arcWidth * 1.2), Paint.Cap.ROUND);
+        progressPaint = CircleViewStyle.createStrokePaint(progressColor, arcHasBorder ? progressWidth : arcWidth,
+                progressBarSquared ? Paint.Cap.SQUARE : Paint.Cap.ROUND);
+        updateProgressColorMode();
+        indicatorPaint = CircleViewStyle.createStrokePaint(indicatorColor, indicatorRadius, Paint.Cap.ROUND);
+        indicatorPaint.setStyle(Paint.Style.FILL_AND_STROKE);
 
-        arcPaint = new Paint();
-        arcPaint.setColor(arcColor);
-        arcPaint.setAntiAlias(true);
-        arcPaint.setStrokeCap(Paint.Cap.ROUND);
-        arcPaint.setStrokeJoin(Paint.Join.ROUND);
-        arcPaint.setStyle(Paint.Style.STROKE);
-        arcPaint.setStrokeWidth(arcWidth);
+        stepTickPaint = new Paint();
+        stepTickPaint.setColor(stepTickColor);
+        stepTickPaint.setAntiAlias(true);
+        stepTickPaint.setStyle(Paint.Style.STROKE);
+        stepTickPaint.setStrokeWidth(stepTickWidth);
 
-        arcBorderPaint = new Paint();
-        arcBorderPaint.setColor(arcBorderColor);
-        arcBorderPaint.setAntiAlias(true);
-        arcBorderPaint.setStrokeCap(Paint.Cap.ROUND);
-        arcBorderPaint.setStrokeJoin(Paint.Join.ROUND);
-        arcBorderPaint.setStyle(Paint.Style.STROKE);
-        arcBorderPaint.setStrokeWidth((float) (arcWidth * 1.2));
+        textPaint = CircleViewStyle.createTextPaint(textColor, textSize, textTypeFace);
+        // always created, so that the suffix can be enabled at any time
+        suffixPaint = CircleViewStyle.createTextPaint(textColor, textSize / 2, textTypeFace);
 
-        progressPaint = new Paint();
-        progressPaint.setColor(progressColor);
-        progressPaint.setAntiAlias(true);
-        progressPaint.setStrokeCap(progressBarSquared ? Paint.Cap.SQUARE : Paint.Cap.ROUND);
-        progressPaint.setStrokeJoin(Paint.Join.ROUND);
-        progressPaint.setStyle(Paint.Style.STROKE);
-        progressPaint.setStrokeWidth(arcHasBorder ? progressWidth : arcWidth);
+        textRenderer = new CircleViewTextRenderer(textPaint, suffixPaint);
+        textRenderer.setSuffix(suffixEnabled, suffixValue);
+        ViewCompat.setAccessibilityDelegate(this, accessibilityDelegate);
+        accessibilityManager = (AccessibilityManager) context.getSystemService(Context.ACCESSIBILITY_SERVICE);
 
-        indicatorPaint = new Paint();
-        indicatorPaint.setColor(indicatorColor);
-        indicatorPaint.setAntiAlias(true);
-        indicatorPaint.setStrokeCap(Paint.Cap.ROUND);
-        indicatorPaint.setStrokeJoin(Paint.Join.ROUND);
-        indicatorPaint.setStyle(Paint.Style.FILL_AND_STROKE);
-        indicatorPaint.setStrokeWidth(indicatorRadius);
+    }
 
-        textPaint = new Paint();
-        textPaint.setColor(textColor);
-        textPaint.setAntiAlias(true);
-        textPaint.setStyle(Paint.Style.FILL);
-        textPaint.setTextSize(textSize);
-        textPaint.setTypeface(textTypeFace);
+    /**
+     * Applies a shared style, copying its preconfigured paints into this view.
+     */
+    public void setStyle(CircleViewStyle style) {
+        boolean geometryChanged = indicatorRadius != style.getIndicatorRadius();
+        arcWidth = style.getArcWidth();
+        arcHasBorder = style.hasArcBorder();
+        progressWidth = style.getProgressWidth();
+        progressBarSquared = style.isProgressBarSquared();
+        progressStepAsInteger = style.isProgressStepAsInteger();
+        hasIndicator = style.hasIndicator();
+        indicatorRadius = style.getIndicatorRadius();
+        textEnabled = style.isTextEnabled();
+        textSize = style.getTextSize();
+        textDecimalPlaces = style.getTextDecimalPlaces();
+        updateValueQuantizer();
+        textTypeFace = style.getTextTypeFace();
+        suffixEnabled = style.isSuffixEnabled();
+        suffixValue = style.getSuffixValue();
+        isCircleClockwise = style.isClockwise();
+        isRotationEnabled = style.isEnabled();
+
+        arcPaint.set(style.getArcPaint());
+        arcBorderPaint.set(style.getArcBorderPaint());
+        progressPaint.set(style.getProgressPaint());
+        progressColor = progressPaint.getColor();
+        updateProgressColorMode();
+        indicatorPaint.set(style.getIndicatorPaint());
+        textPaint.set(style.getTextPaint());
+        textColor = textPaint.getColor();
+        suffixPaint.set(style.getSuffixPaint());
+        textRenderer.setSuffix(suffixEnabled, suffixValue);
+        for (Paint segmentPaint : segmentPaints) {
+            segmentPaint.setStrokeWidth(progressPaint.getStrokeWidth());
+        }
 
-        if (suffixEnabled) {
-            suffixRect = new Rect();
-            suffixPaint = new Paint();
-            suffixPaint.setColor(textColor);
-            suffixPaint.setAntiAlias(true);
-            suffixPaint.setStyle(Paint.Style.FILL);
-            suffixPaint.setTextSize(textSize / 2);
-            suffixPaint.setTypeface(textTypeFace);
+        textRenderer.invalidateMetrics();
+        invalidateStaticLayer();
+        if (geometryChanged) {
+            updateGeometry(getWidth(), getHeight());
         }
+        invalidate();
+    }
 
+    /**
+     * Cheaply rebinds the view to new values, e.g. from a RecyclerView adapter. Unlike {@link #setProgressValue(float)}
+     * it neither notifies the change listener nor relays out the view.
+     */
+    public void bind(float value, float minimumValue, float maximumValue) {
+        boolean rangeChanged = progressMinimumValue != Math.min(minimumValue, maximumValue)
+                || progressMaximumValue != Math.max(minimumValue, maximumValue);
+        progressMinimumValue = Math.min(minimumValue, maximumValue);
+        progressMaximumValue = Math.max(minimumValue, maximumValue);
+        value = Math.max(progressMinimumValue, Math.min(progressMaximumValue, value));
+        progressUnits = valueQuantizer.toUnits(value);
+        progressCurrentValue = valueQuantizer.fromUnits(progressUnits);
+        progressAngle = convertProgressToAngle(value);
+        updateStepGrid();
+        if (rangeChanged) {
+            updateProgressShader();
+            updateTrigTable();
+        }
+        if (ProgressColorMode.VALUE_LOOKUP.equals(progressColorMode)) {
+            updateProgressLookupColor();
+        }
+        updateSegmentAngles();
+        updateIndicatorPosition();
+        invalidate();
     }
 
     // Overridden View Methods
     @Override
-    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        releaseStaticLayer();
+        updateGeometry(w, h);
+    }
 
-        final int width = getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec);
-        final int height = getDefaultSize(getSuggestedMinimumHeight(), heightMeasureSpec);
-        final int min = Math.min(width, height);
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        powerSaveMode = isPowerSaveMode();
+        if (valueMailbox.isPending()) {
+            // runnables posted while detached may be held in a queue that only runs on the next traversal
+            removeCallbacks(postedValueConsumer);
+            ViewCompat.postOnAnimation(this, postedValueConsumer);
+        }
+    }
 
-        translationOnX = width * 0.5f;
-        translationOnY = height * 0.5f;
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        updateRenderingState(visibility == VISIBLE && isShown());
+    }
 
-        int arcDiameter = min - circlePadding - indicatorRadius;
-        arcRadius = arcDiameter / 2;
-        float top = height / 2 - (arcDiameter / 2);
-        float left = width / 2 - (arcDiameter / 2);
-        arcRect.set(left, top, left + arcDiameter, top + arcDiameter);
+    @Override
+    public void onVisibilityAggregated(boolean isVisible) {
+        super.onVisibilityAggregated(isVisible);
+        updateRenderingState(isVisible);
+    }
 
-        updateIndicatorPosition();
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+            // onVisibilityAggregated is only called from Nougat onwards
+            updateRenderingState(getWindowVisibility() == VISIBLE && isShown());
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        removeCallbacks(accessibilityEventSender);
+        circleViewChangeDispatcher.flush();
+        unbindDataSource();
+        releaseStaticLayer();
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
+        if (metricsEnabled) {
+            long drawStartTime = System.nanoTime();
+            drawCircleView(canvas);
+            metricsSink.onDraw(this, System.nanoTime() - drawStartTime);
+        } else {
+            drawCircleView(canvas);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        if (!renderingActive) {
+            // nothing is drawn while hidden, a single invalidation is issued once visible again
+            invalidationPending = true;
+            return;
+        }
+        super.invalidate();
+        if (metricsEnabled) {
+            metricsSink.onInvalidate(this);
+        }
+    }
+
+    @Override
+    public void invalidate(Rect dirty) {
+        if (!renderingActive) {
+            invalidationPending = true;
+            return;
+        }
+        super.invalidate(dirty);
+        if (metricsEnabled) {
+            metricsSink.onInvalidate(this);
+        }
+    }
+
+    private void drawCircleView(Canvas canvas) {
         this.setBackgroundColor(Color.TRANSPARENT);
         if (!isCircleClockwise) {
             canvas.scale(-1, 1, arcRect.centerX(), arcRect.centerY());
         }
         if (textEnabled) {
-            String textPoint = progressStepAsInteger ? String.valueOf((int) progressCurrentValue) : String.valueOf(progressCurrentValue);
-            textPaint.getTextBounds(textPoint, 0, textPoint.length(), textRect);
-            // center the text
-            int xPos = canvas.getWidth() / 2 - textRect.width() / 2;
-            int yPos = (int) ((arcRect.centerY()) - ((textPaint.descent() + textPaint.ascent()) / 2));
-            canvas.drawText(textPoint, xPos, yPos, textPaint);
-            if (suffixEnabled) {
-                String suffix = suffixValue;
-                suffixPaint.getTextBounds(suffix, 0, suffix.length(), suffixRect);
-                xPos += textRect.width() * 1.5;
-                canvas.drawText(suffix, xPos, yPos, suffixPaint);
+            updateValueText();
+            textRenderer.draw(canvas);
+        }
+        boolean hasSegments = segmentPaints.length > 0;
+        float filledAngle = hasSegments ? segmentsTotalAngle : progressAngle;
+        if (StaticLayerMode.NONE.equals(staticLayerMode) || !drawStaticLayer(canvas)) {
+            if (arcHasBorder) {
+                canvas.drawArc(arcRect, ANGLE_OFFSET, 360, false, arcBorderPaint);
             }
+            canvas.drawArc(arcRect, ANGLE_OFFSET + filledAngle, 360 - filledAngle, false, arcPaint);
         }
-        if (arcHasBorder) {
-            canvas.drawArc(arcRect, ANGLE_OFFSET, 360, false, arcBorderPaint);
+        if (hasSegments) {
+            drawSegments(canvas);
+        } else {
+            canvas.drawArc(arcRect, ANGLE_OFFSET, progressAngle, false, progressPaint);
+        }
+        if (stepTicksEnabled && progressStep > 0) {
+            if (stepTickPathDirty) {
+                updateStepTickPath();
+            }
+            canvas.drawPath(stepTickPath, stepTickPaint);
         }
-        canvas.drawArc(arcRect, ANGLE_OFFSET + progressAngle, 360 - progressAngle, false, arcPaint);
-        canvas.drawArc(arcRect, ANGLE_OFFSET, progressAngle, false, progressPaint);
         if (isRotationEnabled && hasIndicator) {
             canvas.translate(translationOnX - indicationPositionX, translationOnY - indicationPositionY);
             canvas.drawCircle(0, 0, indicatorRadius, indicatorPaint);
@@ -266,27 +614,37 @@ public class CircleView extends View {
                 case MotionEvent.ACTION_DOWN:
                     touchStartX = event.getX();
                     touchStartY = event.getY();
-                    if (circleViewChangeListener != null) {
-                        circleViewChangeListener.onStartTracking(this);
-                    }
+                    touchAngle = progressAngle;
+                    progressStepIndex = -1;
+                    circleViewChangeDispatcher.dispatchStartTracking();
                     break;
                 case MotionEvent.ACTION_MOVE:
-                    float touchAngle = convertTouchEventPointToAngle(event.getX(), event.getY());
-                    updateProgress(touchAngle, true, GeneralUtils.isAClick(CLICK_THRESHOLD, touchStartX, event.getX(), touchStartY, event.getY()));
-                    break;
-                case MotionEvent.ACTION_UP:
+                    // walk the batched historical samples so fast spins do not skip the quadrant crossing checks.
+                    // The raw touch angle is tracked apart from the progress, which may be snapped to a step
+                    final int historySize = event.getHistorySize();
+                    for (int i = 0; i < historySize; i++) {
+                        touchAngle = resolveTouchAngle(touchAngle, event.getHistoricalX(i), event.getHistoricalY(i));
+                    }
+                    touchAngle = resolveTouchAngle(touchAngle, event.getX(), event.getY());
+                    // crossings were already resolved per sample, a single update is applied for the whole batch
+                    long previousUnits = progressUnits;
+                    float previousAngle = progressAngle;
                     if (progressStep > 0) {
-                        applyProgressStepRestriction();
+                        updateSteppedProgress(touchAngle);
+                    } else {
+                        updateProgress(touchAngle, true, true);
                     }
-                    if (circleViewChangeListener != null) {
-                        circleViewChangeListener.onStopTracking(this);
+                    if (metricsEnabled) {
+                        boolean changed = previousUnits != progressUnits || previousAngle != progressAngle;
+                        metricsSink.onTouchSamples(this, changed ? historySize + 1 : 0, changed ? 0 : historySize + 1);
                     }
+                    break;
+                case MotionEvent.ACTION_UP:
+                    circleViewChangeDispatcher.dispatchStopTracking();
                     this.getParent().requestDisallowInterceptTouchEvent(false);
                     break;
                 case MotionEvent.ACTION_CANCEL:
-                    if (circleViewChangeListener != null) {
-                        circleViewChangeListener.onStopTracking(this);
-                    }
+                    circleViewChangeDispatcher.dispatchStopTracking();
                     this.getParent().requestDisallowInterceptTouchEvent(false);
                     break;
             }
@@ -306,12 +664,18 @@ public class CircleView extends View {
     }
 
     private float convertTouchEventPointToAngle(float xPos, float yPos) {
-        float x = xPos - translationOnX;
-        float y = yPos - translationOnY;
-        x = (isCircleClockwise) ? x : -x;
-        float angle = (float) Math.toDegrees(Math.atan2(y, x) + (Math.PI / 2));
-        angle = (angle < 0) ? (angle + 360) : angle;
-        return angle;
+        if (fastMathEnabled) {
+            return AngleUtils.fastPointToAngle(xPos - translationOnX, yPos - translationOnY, isCircleClockwise);
+        }
+        return AngleUtils.pointToAngle(xPos - translationOnX, yPos - translationOnY, isCircleClockwise);
+    }
+
+    private float resolveTouchAngle(float previousAngle, float xPos, float yPos) {
+        float touchAngle = convertTouchEventPointToAngle(xPos, yPos);
+        if (!GeneralUtils.isAClick(CLICK_THRESHOLD, touchStartX, xPos, touchStartY, yPos)) {
+            touchAngle = AngleUtils.getValueForQuadrantCrossing(previousAngle, touchAngle);
+        }
+        return touchAngle;
     }
 
     private float valuePerDegree(float max) {
@@ -327,66 +691,504 @@ public class CircleView extends View {
         }
     }
 
+    /**
+     * Switches to the geometry of the given size, only building a new one if the size, padding or indicator radius
+     * changed since the last call.
+     */
+    private void updateGeometry(int width, int height) {
+        if (width <= 0 || height <= 0 || (geometry != null && geometry.isFor(width, height, circlePadding, indicatorRadius))) {
+            return;
+        }
+        geometry = new CircleViewGeometry(width, height, circlePadding, indicatorRadius);
+        translationOnX = geometry.getCenterX();
+        translationOnY = geometry.getCenterY();
+        arcRadius = geometry.getArcRadius();
+        geometry.getArcRect(arcRect);
+        // text positions depend on the geometry, force them to be laid out again
+        textRenderer.invalidateLayout();
+        stepTickPathDirty = true;
+        invalidateStaticLayer();
+        updateProgressShader();
+        updateIndicatorPosition();
+    }
+
+    private void updateProgressColorMode() {
+        if (!ProgressColorMode.SOLID.equals(progressColorMode) && progressColorRamp == null) {
+            progressColorRamp = new ColorRamp(new int[]{progressColor, progressColor}, null);
+        }
+        progressPaint.setShader(null);
+        if (ProgressColorMode.SWEEP_GRADIENT.equals(progressColorMode)) {
+            // opaque, so that only the alpha of the gradient colours applies
+            progressPaint.setColor(Color.BLACK);
+            updateProgressShader();
+        } else if (ProgressColorMode.VALUE_LOOKUP.equals(progressColorMode)) {
+            updateProgressLookupColor();
+        } else {
+            progressPaint.setColor(progressColor);
+        }
+    }
+
+    /**
+     * Builds the sweep gradient for the current geometry and value range. Only called when either of them changes,
+     * the same shader is reused on every frame.
+     */
+    private void updateProgressShader() {
+        if (!ProgressColorMode.SWEEP_GRADIENT.equals(progressColorMode) || arcRect.isEmpty()) {
+            return;
+        }
+        float centerX = arcRect.centerX();
+        float centerY = arcRect.centerY();
+        float start = progressMaximumValue > 0 ? Math.max(0, Math.min(1, progressMinimumValue / progressMaximumValue)) : 0;
+        SweepGradient gradient = new SweepGradient(centerX, centerY, progressColorRamp.getColors(),
+                progressColorRamp.getPositions(start, 1));
+        // sweep gradients start at 3 o'clock, the arc at 12
+        progressShaderMatrix.setRotate(ANGLE_OFFSET, centerX, centerY);
+        gradient.setLocalMatrix(progressShaderMatrix);
+        progressPaint.setShader(gradient);
+    }
+
+    /**
+     * @return true if the arc colour changed
+     */
+    private boolean updateProgressLookupColor() {
+        float range = progressMaximumValue - progressMinimumValue;
+        int color = progressColorRamp.getColor(range > 0 ? (progressCurrentValue - progressMinimumValue) / range : 0);
+        if (color == progressPaint.getColor()) {
+            return false;
+        }
+        progressPaint.setColor(color);
+        return true;
+    }
+
     private void updateIndicatorPosition() {
         float thumbAngle = progressAngle + 90;
-        indicationPositionX = (float) (arcRadius * Math.cos(Math.toRadians(thumbAngle)));
-        indicationPositionY = (float) (arcRadius * Math.sin(Math.toRadians(thumbAngle)));
+        if (trigTable != null) {
+            indicationPositionX = arcRadius * trigTable.cos(thumbAngle);
+            indicationPositionY = arcRadius * trigTable.sin(thumbAngle);
+        } else {
+            indicationPositionX = (float) (arcRadius * Math.cos(Math.toRadians(thumbAngle)));
+            indicationPositionY = (float) (arcRadius * Math.sin(Math.toRadians(thumbAngle)));
+        }
+    }
+
+    private void drawSegments(Canvas canvas) {
+        float segmentStartAngle = ANGLE_OFFSET;
+        for (int i = 0; i < segmentPaints.length; i++) {
+            float segmentAngle = segmentAngles[i];
+            if (segmentAngle > 0) {
+                canvas.drawArc(arcRect, segmentStartAngle, segmentAngle, false, segmentPaints[i]);
+                segmentStartAngle += segmentAngle;
+            }
+        }
+    }
+
+    /**
+     * Draws the cached border and arc track, rendering or recording them first if the cache was invalidated.
+     *
+     * @return false if the cache could not be used, in which case the caller draws the static parts itself
+     */
+    private boolean drawStaticLayer(Canvas canvas) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+        if (StaticLayerMode.DISPLAY_LIST.equals(staticLayerMode)) {
+            if (canvas.isHardwareAccelerated() && Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+                return false;
+            }
+            if (staticLayerPicture == null) {
+                staticLayerPicture = new Picture();
+                staticLayerDirty = true;
+            }
+            if (staticLayerDirty) {
+                drawStaticGeometry(staticLayerPicture.beginRecording(width, height));
+                staticLayerPicture.endRecording();
+                staticLayerDirty = false;
+            }
+            canvas.drawPicture(staticLayerPicture);
+            return true;
+        }
+        if (staticLayerBitmap == null) {
+            staticLayerBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            staticLayerCanvas = new Canvas(staticLayerBitmap);
+            staticLayerDirty = true;
+        }
+        if (staticLayerDirty) {
+            staticLayerBitmap.eraseColor(Color.TRANSPARENT);
+            drawStaticGeometry(staticLayerCanvas);
+            staticLayerDirty = false;
+        }
+        canvas.drawBitmap(staticLayerBitmap, 0, 0, null);
+        return true;
+    }
+
+    private void drawStaticGeometry(Canvas canvas) {
+        if (arcHasBorder) {
+            canvas.drawArc(arcRect, ANGLE_OFFSET, 360, false, arcBorderPaint);
+        }
+        // the whole track is cached, the progress arc is drawn over it
+        canvas.drawArc(arcRect, ANGLE_OFFSET, 360, false, arcPaint);
+    }
+
+    private void invalidateStaticLayer() {
+        staticLayerDirty = true;
+    }
+
+    private void releaseStaticLayer() {
+        if (staticLayerBitmap != null) {
+            staticLayerBitmap.recycle();
+            staticLayerBitmap = null;
+            staticLayerCanvas = null;
+        }
+        staticLayerPicture = null;
+        staticLayerDirty = true;
+    }
+
+    private void updateValueQuantizer() {
+        int scale = Math.max(0, Math.min(textDecimalPlaces, ValueQuantizer.MAXIMUM_SCALE));
+        if (valueQuantizer == null || valueQuantizer.getScale() != scale || !valueQuantizer.getRoundingMode().equals(valueRoundingMode)) {
+            valueQuantizer = new ValueQuantizer(scale, valueRoundingMode);
+        }
+    }
+
+    /**
+     * (Re)builds the lookup table used by the fast math path, sized to the angular resolution of the step.
+     */
+    private void updateTrigTable() {
+        if (!fastMathEnabled) {
+            trigTable = null;
+            return;
+        }
+        int size = TrigTable.sizeForResolution(progressStep > 0 ? convertProgressToAngle(progressStep) : 0);
+        if (trigTable == null || trigTable.size() != size) {
+            trigTable = new TrigTable(size);
+        }
     }
 
     private void updateProgress(float newValue, boolean isAngle, boolean isAClick) {
+        long newProgressUnits;
+        float newProgressAngle;
         if (isAngle) {
             if (!isAClick) {
-                newValue = getValueForQuadrantCrossing(progressAngle, newValue);
+                newValue = AngleUtils.getValueForQuadrantCrossing(progressAngle, newValue);
             }
-            progressCurrentValue = GeneralUtils.round(convertAngleToProgress(newValue), textDecimalPlaces);
-            progressAngle = newValue;
+            newProgressUnits = valueQuantizer.toUnits(convertAngleToProgress(newValue));
+            newProgressAngle = newValue;
         } else {
-            progressCurrentValue = GeneralUtils.round(newValue, textDecimalPlaces);
-            progressAngle = convertProgressToAngle(newValue);
+            newProgressUnits = valueQuantizer.toUnits(newValue);
+            newProgressAngle = convertProgressToAngle(newValue);
         }
-        if (circleViewChangeListener != null) {
-            circleViewChangeListener.onPointsChanged(this, progressCurrentValue);
+        applyProgress(newProgressUnits, newProgressAngle);
+    }
+
+    private void applyProgress(long newProgressUnits, float newProgressAngle) {
+        if (newProgressUnits == progressUnits && newProgressAngle == progressAngle) {
+            return;
         }
+        float oldProgressAngle = progressAngle;
+        float oldIndicationPositionX = indicationPositionX;
+        float oldIndicationPositionY = indicationPositionY;
+        progressUnits = newProgressUnits;
+        progressCurrentValue = valueQuantizer.fromUnits(newProgressUnits);
+        progressAngle = newProgressAngle;
+        circleViewChangeDispatcher.dispatchPointsChanged(progressCurrentValue);
         updateIndicatorPosition();
-        invalidate();
+        invalidateProgress(oldProgressAngle, oldIndicationPositionX, oldIndicationPositionY);
+        scheduleAccessibilityEvent();
     }
 
-    private float getValueForQuadrantCrossing(float oldProgress, float newProgress) {
-        float result = newProgress;
-        int oldProgressQuadrant = getProgressQuadrant(oldProgress);
-        int newProgressQuadrant = getProgressQuadrant(newProgress);
-        if (oldProgressQuadrant == 4 && (newProgressQuadrant != 4 && newProgressQuadrant != 3)) {
-            result = 360.0f;
-        } else if (oldProgressQuadrant == 1 && (newProgressQuadrant != 2 && newProgressQuadrant != 1)) {
-            result = 0.0f;
+    /**
+     * Applies a value requested by an accessibility service, clamped to the range and snapped to the step grid.
+     *
+     * @return true if the value changed
+     */
+    private boolean setProgressValueFromAccessibility(float value) {
+        value = Math.max(progressMinimumValue, Math.min(progressMaximumValue, value));
+        if (progressStep > 0) {
+            long stepIndex = Math.round((value - progressMinimumValue) / progressStep);
+            stepIndex = Math.max(0, Math.min(progressStepCount, stepIndex));
+            value = (float) (progressMinimumValue + (double) stepIndex * progressStep);
         }
-        return result;
+        long oldProgressUnits = progressUnits;
+        updateProgress(value, false, false);
+        return progressUnits != oldProgressUnits;
     }
 
-    private int getProgressQuadrant(float progress) {
-        int quadrant;
-        if (progress >= 0 && progress <= 90.0f) {
-            quadrant = 1;
-        } else if (progress <= 180) {
-            quadrant = 2;
-        } else if (progress <= 270) {
-            quadrant = 3;
+    /**
+     * Announces the new value to accessibility services once it stops changing, only while any of them is enabled.
+     */
+    private void scheduleAccessibilityEvent() {
+        if (accessibilityManager != null && accessibilityManager.isEnabled()) {
+            removeCallbacks(accessibilityEventSender);
+            postDelayed(accessibilityEventSender, ACCESSIBILITY_EVENT_DELAY_MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies an animated angle as is, without notifying the change listener. Only the value is rounded, the same way
+     * as any other value, so that the text matches what a listener would receive. Used by {@link CircleViewAnimator}
+     * on every frame.
+     */
+    void setAnimatedAngle(float angle) {
+        if (angle == progressAngle) {
+            return;
+        }
+        float oldProgressAngle = progressAngle;
+        float oldIndicationPositionX = indicationPositionX;
+        float oldIndicationPositionY = indicationPositionY;
+        progressAngle = angle;
+        progressUnits = valueQuantizer.toUnits(convertAngleToProgress(angle));
+        progressCurrentValue = valueQuantizer.fromUnits(progressUnits);
+        updateIndicatorPosition();
+        invalidateProgress(oldProgressAngle, oldIndicationPositionX, oldIndicationPositionY);
+        scheduleAccessibilityEvent();
+    }
+
+    /**
+     * Notifies the change listener of a value the view is animating towards, without applying it. Used by
+     * {@link CircleViewBinding} so that listeners receive every sample once, whether samples are animated or not.
+     */
+    void dispatchTargetValue(float value) {
+        circleViewChangeDispatcher.dispatchPointsChanged(valueQuantizer.quantize(value));
+    }
+
+    private void updateRenderingState(boolean active) {
+        if (active == renderingActive) {
+            return;
+        }
+        renderingActive = active;
+        if (active) {
+            powerSaveMode = isPowerSaveMode();
+            if (invalidationPending) {
+                invalidationPending = false;
+                invalidate();
+            }
+        }
+        OnRenderingStateChangeListener[] snapshot = renderingStateListeners;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i].onRenderingStateChanged(active);
+        }
+    }
+
+    private boolean isPowerSaveMode() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            PowerManager powerManager = (PowerManager) getContext().getSystemService(Context.POWER_SERVICE);
+            return powerManager != null && powerManager.isPowerSaveMode();
+        }
+        return false;
+    }
+
+    /**
+     * @return false while the view is not visible to the user, during which animations should not advance it
+     */
+    boolean isRenderingActive() {
+        return renderingActive;
+    }
+
+    /**
+     * @return the minimum time between two animation frames, or 0 if the frame rate is not capped
+     */
+    long getAnimationFrameIntervalNanos() {
+        if (lowPowerFrameRate > 0 && (lowPowerModeEnabled || powerSaveMode)) {
+            return 1000000000L / lowPowerFrameRate;
+        }
+        return 0;
+    }
+
+    /**
+     * Applies the low power frame rate cap on behalf of the animations driving this view. A frame due slightly before
+     * the capped interval is still applied, as frame timestamps jitter.
+     *
+     * @param elapsedNanos time since the last animation frame applied to this view
+     * @return true if the animation should apply the current frame
+     */
+    boolean isAnimationFrameDue(long elapsedNanos) {
+        long frameInterval = getAnimationFrameIntervalNanos();
+        return frameInterval <= 0 || elapsedNanos >= frameInterval - FRAME_CAP_TOLERANCE_NANOS;
+    }
+
+    void addOnRenderingStateChangeListener(OnRenderingStateChangeListener listener) {
+        for (OnRenderingStateChangeListener registered : renderingStateListeners) {
+            if (registered == listener) {
+                return;
+            }
+        }
+        OnRenderingStateChangeListener[] updated = new OnRenderingStateChangeListener[renderingStateListeners.length + 1];
+        System.arraycopy(renderingStateListeners, 0, updated, 0, renderingStateListeners.length);
+        updated[renderingStateListeners.length] = listener;
+        renderingStateListeners = updated;
+    }
+
+    void removeOnRenderingStateChangeListener(OnRenderingStateChangeListener listener) {
+        for (int i = 0; i < renderingStateListeners.length; i++) {
+            if (renderingStateListeners[i] == listener) {
+                OnRenderingStateChangeListener[] updated = new OnRenderingStateChangeListener[renderingStateListeners.length - 1];
+                System.arraycopy(renderingStateListeners, 0, updated, 0, i);
+                System.arraycopy(renderingStateListeners, i + 1, updated, i, renderingStateListeners.length - i - 1);
+                renderingStateListeners = updated.length > 0 ? updated : NO_RENDERING_LISTENERS;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reports the time elapsed between two frames of an animation, to count the frames it skipped.
+     */
+    void onAnimationFrame(long frameDeltaNanos) {
+        if (metricsEnabled) {
+            long frameInterval = Math.max(CircleViewMetrics.NOMINAL_FRAME_NANOS, getAnimationFrameIntervalNanos());
+            int skippedFrames = CircleViewMetrics.getSkippedFrames(frameDeltaNanos, frameInterval);
+            if (skippedFrames > 0) {
+                metricsSink.onFramesSkipped(this, skippedFrames);
+            }
+        }
+    }
+
+    boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    CircleViewMetricsSink getMetricsSink() {
+        return metricsSink;
+    }
+
+    /**
+     * Invalidates only the region touched by a progress change: the swept arc between both angles, the old and new
+     * indicator and the value text.
+     */
+    private void invalidateProgress(float oldProgressAngle, float oldIndicationPositionX, float oldIndicationPositionY) {
+        boolean progressColorChanged = ProgressColorMode.VALUE_LOOKUP.equals(progressColorMode) && updateProgressLookupColor();
+        if (arcRect.isEmpty()) {
+            invalidate();
+            return;
+        }
+        dirtyBounds.setEmpty();
+        if (progressColorChanged) {
+            // the whole arc takes the new colour
+            unionArcDirtyBounds(0, Math.max(oldProgressAngle, progressAngle));
         } else {
-            quadrant = 4;
+            unionArcDirtyBounds(Math.min(oldProgressAngle, progressAngle), Math.abs(progressAngle - oldProgressAngle));
+        }
+        if (isRotationEnabled && hasIndicator) {
+            float indicatorExtent = indicatorRadius + indicatorPaint.getStrokeWidth() / 2 + 1;
+            float oldX = translationOnX - oldIndicationPositionX;
+            float oldY = translationOnY - oldIndicationPositionY;
+            float newX = translationOnX - indicationPositionX;
+            float newY = translationOnY - indicationPositionY;
+            dirtyBounds.union(oldX - indicatorExtent, oldY - indicatorExtent, oldX + indicatorExtent, oldY + indicatorExtent);
+            dirtyBounds.union(newX - indicatorExtent, newY - indicatorExtent, newX + indicatorExtent, newY + indicatorExtent);
         }
-        return quadrant;
+        roundOutDirtyBounds();
+        if (textEnabled) {
+            // union the previously drawn text with the new one
+            dirtyRect.union(textRenderer.getDrawBounds());
+            updateValueText();
+            dirtyRect.union(textRenderer.getDrawBounds());
+        }
+        invalidate(dirtyRect);
     }
 
-    private void applyProgressStepRestriction() {
-        float floor = (float) Math.floor(progressCurrentValue);
-        float ceiling = (float) Math.ceil(progressCurrentValue);
-        float roundToNextStep;
-        if (progressCurrentValue - floor <= ceiling - progressCurrentValue) {
-            roundToNextStep = floor;
+    /**
+     * Invalidates only the region covered by the given arc span.
+     */
+    private void invalidateArc(float fromAngle, float sweepAngle) {
+        if (arcRect.isEmpty()) {
+            invalidate();
+            return;
+        }
+        dirtyBounds.setEmpty();
+        unionArcDirtyBounds(fromAngle, sweepAngle);
+        roundOutDirtyBounds();
+        invalidate(dirtyRect);
+    }
+
+    private void unionArcDirtyBounds(float fromAngle, float sweepAngle) {
+        float strokeWidth = Math.max(progressPaint.getStrokeWidth(), arcPaint.getStrokeWidth());
+        if (arcHasBorder) {
+            strokeWidth = Math.max(strokeWidth, arcBorderPaint.getStrokeWidth());
+        }
+        float extent = strokeWidth / 2;
+        if (progressBarSquared) {
+            // the corners of a square cap lie strokeWidth / sqrt(2) away from the arc's end points
+            extent = Math.max(extent, progressPaint.getStrokeWidth() * 0.75f);
+        }
+        // +1 accounts for anti aliasing
+        GeneralUtils.unionArcBounds(arcRect, ANGLE_OFFSET + fromAngle, sweepAngle, extent + 1, dirtyBounds);
+    }
+
+    private void roundOutDirtyBounds() {
+        if (!isCircleClockwise) {
+            // onDraw mirrors the canvas around the arc's center
+            float mirrorAxis = 2 * arcRect.centerX();
+            dirtyBounds.set(mirrorAxis - dirtyBounds.right, dirtyBounds.top, mirrorAxis - dirtyBounds.left, dirtyBounds.bottom);
+        }
+        dirtyBounds.roundOut(dirtyRect);
+    }
+
+    /**
+     * Formats and lays out the value text if it changed, keeping the renderer's draw bounds in sync with what onDraw
+     * will render.
+     */
+    private void updateValueText() {
+        if (progressStepAsInteger) {
+            textRenderer.update((int) progressCurrentValue, 0, getWidth(), arcRect, !isCircleClockwise);
         } else {
-            roundToNextStep = ceiling;
+            // the rounded value, as held in units, rather than the binary float
+            textRenderer.update(progressUnits, valueQuantizer.getScale(), getWidth(), arcRect, !isCircleClockwise);
+        }
+    }
+
+    /**
+     * Snaps the dragged angle to the nearest step. The value is only updated, dispatched and redrawn when the
+     * step index changes.
+     */
+    private void updateSteppedProgress(float angle) {
+        long stepIndex = Math.round((angle - progressStepMinimumAngle) / progressStepAngle);
+        stepIndex = Math.max(0, Math.min(progressStepCount, stepIndex));
+        if (stepIndex == progressStepIndex) {
+            return;
         }
-        setProgressValue(roundToNextStep);
+        progressStepIndex = stepIndex;
+        updateProgress((float) (progressMinimumValue + (double) stepIndex * progressStep), false, false);
+    }
+
+    /**
+     * Recomputes the angular step grid after the step or the value range changed.
+     */
+    private void updateStepGrid() {
+        if (progressStep > 0) {
+            progressStepAngle = convertProgressToAngle(progressStep);
+            progressStepMinimumAngle = convertProgressToAngle(progressMinimumValue);
+            // the epsilon keeps a range that is an exact multiple of the step from losing its last step
+            progressStepCount = (long) Math.floor((double) (progressMaximumValue - progressMinimumValue) / progressStep + 1e-6);
+        } else {
+            progressStepCount = 0;
+        }
+        progressStepIndex = -1;
+        stepTickPathDirty = true;
+    }
+
+    /**
+     * Rebuilds the single path holding every step tick, across the arc's width.
+     */
+    private void updateStepTickPath() {
+        stepTickPath.rewind();
+        if (progressStepCount <= MAXIMUM_STEP_TICKS && !arcRect.isEmpty()) {
+            float halfLength = arcPaint.getStrokeWidth() / 2;
+            float innerRadius = arcRadius - halfLength;
+            float outerRadius = arcRadius + halfLength;
+            float centerX = arcRect.centerX();
+            float centerY = arcRect.centerY();
+            for (long i = 0; i <= progressStepCount; i++) {
+                double radians = Math.toRadians(ANGLE_OFFSET + progressStepMinimumAngle + i * progressStepAngle);
+                float cos = (float) Math.cos(radians);
+                float sin = (float) Math.sin(radians);
+                stepTickPath.moveTo(centerX + innerRadius * cos, centerY + innerRadius * sin);
+                stepTickPath.lineTo(centerX + outerRadius * cos, centerY + outerRadius * sin);
+            }
+        }
+        stepTickPathDirty = false;
     }
 
     public float getProgressValue() {
@@ -402,13 +1204,167 @@ public class CircleView extends View {
         }
     }
 
+    /**
+     * Thread safe alternative to {@link #setProgressValue(float)}. Only the latest value posted within a frame is
+     * applied, on the UI thread, or an aggregate of them according to {@link #setPostedValueAggregation}.
+     */
+    public void postProgressValue(float progressValue) {
+        if (valueMailbox.publish(progressValue)) {
+            mainThreadHandler.post(postedValueScheduler);
+        }
+    }
+
+    /**
+     * Same as {@link #bindDataSource(CircleViewDataSource, long)}, animating each sample over 250ms.
+     */
+    public CircleViewBinding bindDataSource(CircleViewDataSource dataSource) {
+        return bindDataSource(dataSource, 250);
+    }
+
+    /**
+     * Subscribes to the data source, replacing any previous binding. Samples are applied at most once per frame and
+     * animated from the current angle. The subscription is cancelled when the view is detached from its window.
+     *
+     * @param animationDurationInMilliseconds the duration of the animation towards each sample, 0 to apply it as is
+     */
+    public CircleViewBinding bindDataSource(CircleViewDataSource dataSource, long animationDurationInMilliseconds) {
+        unbindDataSource();
+        dataSourceBinding = new CircleViewBinding(this, animationDurationInMilliseconds);
+        dataSourceBinding.subscribe(dataSource);
+        return dataSourceBinding;
+    }
+
+    /**
+     * Cancels the subscription to the bound data source, if any, and drops its samples not yet applied, along with the
+     * values posted through {@link #postProgressValue(float)} in the meantime.
+     */
+    public void unbindDataSource() {
+        if (dataSourceBinding != null) {
+            dataSourceBinding.unsubscribe();
+            dataSourceBinding = null;
+            mainThreadHandler.removeCallbacks(postedValueScheduler);
+            removeCallbacks(postedValueConsumer);
+            valueMailbox.clear();
+        }
+    }
+
+    /**
+     * Adds the delta to the current value using its fixed point representation, so that repeated increments do not
+     * accumulate float errors.
+     */
+    public void incrementProgressValue(float delta) {
+        long newProgressUnits = progressUnits + valueQuantizer.toUnits(delta);
+        float newProgressValue = valueQuantizer.fromUnits(newProgressUnits);
+        if (newProgressValue < progressMinimumValue || newProgressValue > progressMaximumValue) {
+            setProgressValue(newProgressValue);
+        } else {
+            applyProgress(newProgressUnits, convertProgressToAngle(newProgressValue));
+        }
+    }
+
+    /**
+     * @return the current value as a fixed point long, in units of 10^-{@link #getTextDecimalPlaces()}
+     */
+    public long getProgressUnits() {
+        return progressUnits;
+    }
+
     // Setters and Getters
+    public int getTextDecimalPlaces() {
+        return textDecimalPlaces;
+    }
+
+    public void setTextDecimalPlaces(int textDecimalPlaces) {
+        this.textDecimalPlaces = Math.max(0, textDecimalPlaces);
+        updateValueQuantizer();
+        progressUnits = valueQuantizer.toUnits(progressCurrentValue);
+        progressCurrentValue = valueQuantizer.fromUnits(progressUnits);
+        invalidate();
+    }
+
+    public RoundingMode getValueRoundingMode() {
+        return valueRoundingMode;
+    }
+
+    /**
+     * @param roundingMode either {@link RoundingMode#HALF_UP}, the default, or {@link RoundingMode#HALF_EVEN}
+     */
+    public void setValueRoundingMode(RoundingMode roundingMode) {
+        if (!RoundingMode.HALF_UP.equals(roundingMode) && !RoundingMode.HALF_EVEN.equals(roundingMode)) {
+            throw new IllegalArgumentException("Unsupported rounding mode: " + roundingMode);
+        }
+        this.valueRoundingMode = roundingMode;
+        updateValueQuantizer();
+    }
+
+    public AggregationMode getPostedValueAggregation() {
+        return postedValueAggregation;
+    }
+
+    public void setPostedValueAggregation(AggregationMode aggregationMode) {
+        this.postedValueAggregation = aggregationMode != null ? aggregationMode : AggregationMode.LATEST;
+    }
+
+    /**
+     * @return the minimum of the values posted within the last applied frame
+     */
+    public float getPostedValueMinimum() {
+        return valueMailbox.getMinimum();
+    }
+
+    /**
+     * @return the maximum of the values posted within the last applied frame
+     */
+    public float getPostedValueMaximum() {
+        return valueMailbox.getMaximum();
+    }
+
+    /**
+     * @return the average of the values posted within the last applied frame
+     */
+    public float getPostedValueAverage() {
+        return valueMailbox.getAverage();
+    }
+
+    public long getPostedValueCount() {
+        return valueMailbox.getPublishedCount();
+    }
+
+    /**
+     * @return how many posted values were replaced by a later one before being applied
+     */
+    public long getDroppedPostedValueCount() {
+        return valueMailbox.getDroppedCount();
+    }
+
+    /**
+     * @return how many frames applied more than one posted value at once
+     */
+    public long getCoalescedPostedValueCount() {
+        return valueMailbox.getCoalescedCount();
+    }
+
+    public void resetPostedValueCounters() {
+        valueMailbox.resetCounters();
+    }
+
+    public boolean isTextEnabled() {
+        return textEnabled;
+    }
+
+    public void setTextEnabled(boolean textEnabled) {
+        this.textEnabled = textEnabled;
+        invalidate();
+    }
+
     public boolean isSuffixEnabled() {
         return suffixEnabled;
     }
 
     public void setSuffixEnabled(boolean suffixEnabled) {
         this.suffixEnabled = suffixEnabled;
+        textRenderer.setSuffix(suffixEnabled, suffixValue);
+        invalidate();
     }
 
     public String getSuffixValue() {
@@ -417,6 +1373,8 @@ public class CircleView extends View {
 
     public void setSuffixValue(String suffixValue) {
         this.suffixValue = suffixValue;
+        textRenderer.setSuffix(suffixEnabled, suffixValue);
+        invalidate();
     }
 
     public boolean isProgressStepAsInteger() {
@@ -425,6 +1383,8 @@ public class CircleView extends View {
 
     public void setProgressStepAsInteger(boolean progressStepAsInteger) {
         this.progressStepAsInteger = progressStepAsInteger;
+        textRenderer.invalidateLayout();
+        invalidate();
     }
 
     public float getProgressAngle() {
@@ -447,6 +1407,10 @@ public class CircleView extends View {
     public void setProgressWidth(int progressWidth) {
         this.progressWidth = progressWidth;
         progressPaint.setStrokeWidth(progressWidth);
+        for (Paint segmentPaint : segmentPaints) {
+            segmentPaint.setStrokeWidth(progressWidth);
+        }
+        invalidate();
     }
 
     public int getArcWidth() {
@@ -456,6 +1420,9 @@ public class CircleView extends View {
     public void setArcWidth(int arcWidth) {
         this.arcWidth = arcWidth;
         arcPaint.setStrokeWidth(arcWidth);
+        stepTickPathDirty = true;
+        invalidateStaticLayer();
+        invalidate();
     }
 
     public boolean isClockwise() {
@@ -464,6 +1431,8 @@ public class CircleView extends View {
 
     public void setClockwise(boolean isClockwise) {
         isCircleClockwise = isClockwise;
+        textRenderer.invalidateLayout();
+        invalidate();
     }
 
     public boolean isEnabled() {
@@ -475,11 +1444,46 @@ public class CircleView extends View {
     }
 
     public int getProgressColor() {
-        return progressPaint.getColor();
+        return progressColor;
     }
 
+    /**
+     * Sets the colour of the progress arc, only visible in {@link ProgressColorMode#SOLID}.
+     */
     public void setProgressColor(int color) {
-        progressPaint.setColor(color);
+        progressColor = color;
+        if (ProgressColorMode.SOLID.equals(progressColorMode)) {
+            progressPaint.setColor(color);
+            invalidate();
+        }
+    }
+
+    public ProgressColorMode getProgressColorMode() {
+        return progressColorMode;
+    }
+
+    public void setProgressColorMode(ProgressColorMode progressColorMode) {
+        if (progressColorMode == null) {
+            progressColorMode = ProgressColorMode.SOLID;
+        }
+        this.progressColorMode = progressColorMode;
+        updateProgressColorMode();
+        invalidate();
+    }
+
+    public void setProgressColorStops(int... colors) {
+        setProgressColorStops(colors, null);
+    }
+
+    /**
+     * Sets the colour stops of the gradient colour modes.
+     *
+     * @param positions ascending fractions of the value range, from the minimum to the maximum value, at which each
+     *                  colour is reached. If null, the colours are spread evenly
+     */
+    public void setProgressColorStops(int[] colors, float[] positions) {
+        progressColorRamp = new ColorRamp(colors, positions);
+        updateProgressColorMode();
         invalidate();
     }
 
@@ -489,17 +1493,22 @@ public class CircleView extends View {
 
     public void setArcColor(int color) {
         arcPaint.setColor(color);
+        invalidateStaticLayer();
         invalidate();
     }
 
     public void setTextColor(int textColor) {
+        this.textColor = textColor;
         textPaint.setColor(textColor);
+        suffixPaint.setColor(textColor);
         invalidate();
     }
 
     public void setTextSize(float textSize) {
         this.textSize = textSize;
         textPaint.setTextSize(textSize);
+        suffixPaint.setTextSize(textSize / 2);
+        textRenderer.invalidateMetrics();
         invalidate();
     }
 
@@ -510,6 +1519,9 @@ public class CircleView extends View {
     public void setMaximumValue(int progressMaximumValue) {
         if (progressMaximumValue >= progressMinimumValue) {
             this.progressMaximumValue = progressMaximumValue;
+            updateStepGrid();
+            updateProgressShader();
+            updateTrigTable();
         }
     }
 
@@ -520,6 +1532,8 @@ public class CircleView extends View {
     public void setMinimumValue(int min) {
         if (progressMaximumValue >= min) {
             progressMinimumValue = min;
+            updateStepGrid();
+            updateProgressShader();
         }
     }
 
@@ -528,7 +1542,46 @@ public class CircleView extends View {
     }
 
     public void setProgressStep(int step) {
-        progressStep = step;
+        setProgressStep((float) step);
+    }
+
+    /**
+     * While dragging, the value snaps to the nearest multiple of the step counted from the minimum value. A step of
+     * 0 disables snapping.
+     */
+    public void setProgressStep(float step) {
+        progressStep = Math.max(0, step);
+        updateStepGrid();
+        updateTrigTable();
+        if (stepTicksEnabled) {
+            invalidate();
+        }
+    }
+
+    public boolean isStepTicksEnabled() {
+        return stepTicksEnabled;
+    }
+
+    /**
+     * Draws a tick across the arc for every step. Ticks are skipped when there are more than 360 steps.
+     */
+    public void setStepTicksEnabled(boolean stepTicksEnabled) {
+        this.stepTicksEnabled = stepTicksEnabled;
+        invalidate();
+    }
+
+    public int getStepTickColor() {
+        return stepTickPaint.getColor();
+    }
+
+    public void setStepTickColor(int color) {
+        stepTickPaint.setColor(color);
+        invalidate();
+    }
+
+    public void setStepTickWidth(float width) {
+        stepTickPaint.setStrokeWidth(width);
+        invalidate();
     }
 
     public Typeface getTextTypeFace() {
@@ -536,11 +1589,235 @@ public class CircleView extends View {
     }
 
     public void setTextTypeFace(Typeface textTypeFace) {
-        this.textTypeFace = textTypeFace;
+        this.textTypeFace = textTypeFace != null ? textTypeFace : Typeface.DEFAULT;
+        textPaint.setTypeface(this.textTypeFace);
+        suffixPaint.setTypeface(this.textTypeFace);
+        textRenderer.invalidateMetrics();
+        invalidate();
+    }
+
+    /**
+     * Loads the typeface from the assets through the shared {@link TypefaceCache}. Missing assets are ignored.
+     */
+    public void setTextTypeFace(String assetPath) {
+        Typeface typeface = TypefaceCache.get(getContext(), assetPath);
+        if (typeface != null) {
+            setTextTypeFace(typeface);
+        }
+    }
+
+    public int getSegmentCount() {
+        return segmentPaints.length;
+    }
+
+    public float getSegmentValue(int index) {
+        return segmentValues[index];
+    }
+
+    /**
+     * Switches the view into segmented mode, drawing one stacked arc per color instead of the progress arc. Passing
+     * no colors goes back to the single progress arc. Existing segment values are kept where possible.
+     */
+    public void setSegmentColors(int... colors) {
+        int count = colors != null ? colors.length : 0;
+        if (count != segmentPaints.length) {
+            Paint[] paints = new Paint[count];
+            System.arraycopy(segmentPaints, 0, paints, 0, Math.min(count, segmentPaints.length));
+            float[] values = new float[count];
+            System.arraycopy(segmentValues, 0, values, 0, Math.min(count, segmentValues.length));
+            segmentPaints = paints;
+            segmentValues = values;
+            segmentAngles = new float[count];
+        }
+        for (int i = 0; i < count; i++) {
+            if (segmentPaints[i] == null) {
+                segmentPaints[i] = new Paint(progressPaint);
+                // segments are stacked next to each other, rounded caps would overlap the neighbours
+                segmentPaints[i].setStrokeCap(Paint.Cap.BUTT);
+                segmentPaints[i].setShader(null);
+            }
+            segmentPaints[i].setColor(colors[i]);
+        }
+        updateSegmentAngles();
+        invalidate();
+    }
+
+    /**
+     * Sets the segment values in bulk, in progress units. Values beyond the segment count are ignored and segments
+     * beyond the values length are kept. Only the arc span affected by the change is invalidated, once.
+     */
+    public void setSegmentValues(float... values) {
+        int count = Math.min(values != null ? values.length : 0, segmentValues.length);
+        if (count == 0) {
+            return;
+        }
+        System.arraycopy(values, 0, segmentValues, 0, count);
+        float oldTotalAngle = segmentsTotalAngle;
+        float firstChangedAngle = updateSegmentAngles();
+        if (firstChangedAngle >= 0) {
+            invalidateArc(firstChangedAngle, Math.max(oldTotalAngle, segmentsTotalAngle) - firstChangedAngle);
+        }
+    }
+
+    /**
+     * Recomputes the sweep of every segment, capping their sum to a full circle.
+     *
+     * @return the start angle of the first segment whose sweep changed, or -1 if none did
+     */
+    private float updateSegmentAngles() {
+        float firstChangedAngle = -1;
+        float angle = 0;
+        for (int i = 0; i < segmentValues.length; i++) {
+            float segmentAngle = Math.max(0, Math.min(convertProgressToAngle(segmentValues[i]), 360 - angle));
+            if (firstChangedAngle < 0 && segmentAngle != segmentAngles[i]) {
+                firstChangedAngle = angle;
+            }
+            segmentAngles[i] = segmentAngle;
+            angle += segmentAngle;
+        }
+        segmentsTotalAngle = angle;
+        return firstChangedAngle;
+    }
+
+    public boolean isFastMathEnabled() {
+        return fastMathEnabled;
+    }
+
+    /**
+     * Uses a sine/cosine lookup table sized to the step resolution for the indicator position and a float atan2
+     * approximation, accurate to about 0.09 degrees, for the touch angle conversion.
+     */
+    public void setFastMathEnabled(boolean fastMathEnabled) {
+        this.fastMathEnabled = fastMathEnabled;
+        updateTrigTable();
+        updateIndicatorPosition();
+        invalidate();
     }
 
+    public boolean isStaticLayerCacheEnabled() {
+        return !StaticLayerMode.NONE.equals(staticLayerMode);
+    }
+
+    /**
+     * Caches the border and the arc track into a bitmap that is rendered once and blitted on every frame. While
+     * enabled, the track is drawn as a full circle underneath the progress arc.
+     */
+    public void setStaticLayerCacheEnabled(boolean staticLayerCacheEnabled) {
+        setStaticLayerMode(staticLayerCacheEnabled ? StaticLayerMode.BITMAP : StaticLayerMode.NONE);
+    }
+
+    public StaticLayerMode getStaticLayerMode() {
+        return staticLayerMode;
+    }
+
+    /**
+     * Selects how the border and the arc track are cached. In any mode other than {@link StaticLayerMode#NONE}, the
+     * track is drawn as a full circle underneath the progress arc.
+     */
+    public void setStaticLayerMode(StaticLayerMode staticLayerMode) {
+        if (staticLayerMode == null) {
+            staticLayerMode = StaticLayerMode.NONE;
+        }
+        if (!staticLayerMode.equals(this.staticLayerMode)) {
+            this.staticLayerMode = staticLayerMode;
+            releaseStaticLayer();
+            invalidate();
+        }
+    }
+
+    public int getLowPowerFrameRate() {
+        return lowPowerFrameRate;
+    }
+
+    /**
+     * Caps the frame rate of the animations, e.g. to 30, while the device is in battery saver or while the low power
+     * mode is enabled. The battery saver state is read whenever the view is attached or becomes visible. 0, the
+     * default, disables the cap.
+     */
+    public void setLowPowerFrameRate(int framesPerSecond) {
+        this.lowPowerFrameRate = Math.max(0, framesPerSecond);
+    }
+
+    public boolean isLowPowerModeEnabled() {
+        return lowPowerModeEnabled;
+    }
+
+    /**
+     * Applies the low power frame rate regardless of the battery saver state, e.g. for an application's own
+     * low power profile.
+     */
+    public void setLowPowerModeEnabled(boolean lowPowerModeEnabled) {
+        this.lowPowerModeEnabled = lowPowerModeEnabled;
+    }
+
+    /**
+     * Reports draw durations, invalidations, touch samples, listener dispatch times and skipped animation frames to
+     * the given sink, e.g. a {@link CircleViewMetrics}. Nothing is measured with the default
+     * {@link CircleViewMetricsSink#NONE}, to which null resets.
+     */
+    public void setMetricsSink(CircleViewMetricsSink metricsSink) {
+        this.metricsSink = metricsSink != null ? metricsSink : CircleViewMetricsSink.NONE;
+        this.metricsEnabled = this.metricsSink != CircleViewMetricsSink.NONE;
+    }
+
+    /**
+     * Replaces every registered change listener by the given one.
+     */
     public void setOnCircleViewChangeListener(CircleViewChangeListener onCircleViewChangeListener) {
-        circleViewChangeListener = onCircleViewChangeListener;
+        circleViewChangeDispatcher.setListener(onCircleViewChangeListener);
+    }
+
+    public void addOnCircleViewChangeListener(CircleViewChangeListener onCircleViewChangeListener) {
+        circleViewChangeDispatcher.addListener(onCircleViewChangeListener);
+    }
+
+    public void removeOnCircleViewChangeListener(CircleViewChangeListener onCircleViewChangeListener) {
+        circleViewChangeDispatcher.removeListener(onCircleViewChangeListener);
+    }
+
+    public DispatchPolicy getChangeDispatchPolicy() {
+        return circleViewChangeDispatcher.getPolicy();
+    }
+
+    /**
+     * Sets how {@link CircleViewChangeListener#onPointsChanged} is delivered. Any pending change is delivered first.
+     *
+     * @param intervalInMilliseconds the throttling or debouncing interval, ignored by the other policies
+     */
+    public void setChangeDispatchPolicy(DispatchPolicy policy, long intervalInMilliseconds) {
+        circleViewChangeDispatcher.setPolicy(policy, intervalInMilliseconds);
+    }
+
+    public boolean isDistinctChangesOnly() {
+        return circleViewChangeDispatcher.isDistinctValuesOnly();
+    }
+
+    /**
+     * When enabled, a change is only delivered if its value differs from the last delivered one.
+     */
+    public void setDistinctChangesOnly(boolean distinctChangesOnly) {
+        circleViewChangeDispatcher.setDistinctValuesOnly(distinctChangesOnly);
+    }
+
+    public long getDispatchedChangeCount() {
+        return circleViewChangeDispatcher.getDispatchedCount();
+    }
+
+    public long getSuppressedChangeCount() {
+        return circleViewChangeDispatcher.getSuppressedCount();
+    }
+
+    public void resetChangeDispatchCounters() {
+        circleViewChangeDispatcher.resetCounters();
+    }
+
+    /**
+     * Notified when the view becomes visible or hidden to the user, so that animations can pause and catch up.
+     */
+    interface OnRenderingStateChangeListener {
+
+        void onRenderingStateChanged(boolean active);
+
     }
 
 }
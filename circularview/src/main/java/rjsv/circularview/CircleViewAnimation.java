@@ -1,11 +1,16 @@
 package rjsv.circularview;
 
 import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
 import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
 import android.view.animation.Interpolator;
 import android.view.animation.LinearInterpolator;
 import android.view.animation.Transformation;
 
+import java.lang.ref.WeakReference;
+
 import rjsv.circularview.enumerators.AnimationStyle;
 import rjsv.circularview.utils.CircleViewAnimationListener;
 import rjsv.circularview.utils.Disposable;
@@ -26,11 +31,76 @@ public class CircleViewAnimation extends Animation implements Disposable {
     private float currentValue;
     private long duration;
     private boolean isAnimationRunning = false;
+    // Retargeting
+    private boolean isRetargeted = false;
+    private float millisecondsPerUnit;
+    private float retargetStartValue;
+    private float retargetVelocity;
+    private long retargetStartTime;
+    private long retargetDuration;
+    private float lastValue;
+    private long lastValueTime = -1;
+    private float currentVelocity;
     private AnimationStyle circleViewAnimationStyle;
     private Interpolator circleViewInterpolator;
     private CircleViewAnimationListener circleViewAnimationListener;
     private Handler timerManager;
     private Runnable timerOperation;
+    // Lifecycle
+    private boolean isAutoDisposeEnabled = true;
+    private boolean isPausedWhileHidden = false;
+    private boolean isResumedFromHidden = false;
+    private long pausedStartTime;
+    // restoring the start time of a resumed animation makes the framework notify its start again, which is swallowed
+    private final AnimationListener dispatchingListener = new AnimationListener() {
+        @Override
+        public void onAnimationStart(Animation animation) {
+            if (isResumedFromHidden) {
+                isResumedFromHidden = false;
+                return;
+            }
+            if (circleViewAnimationListener != null) {
+                circleViewAnimationListener.onAnimationStart(animation);
+            }
+        }
+
+        @Override
+        public void onAnimationEnd(Animation animation) {
+            isResumedFromHidden = false;
+            if (circleViewAnimationListener != null) {
+                circleViewAnimationListener.onAnimationEnd(animation);
+            }
+        }
+
+        @Override
+        public void onAnimationRepeat(Animation animation) {
+            if (circleViewAnimationListener != null) {
+                circleViewAnimationListener.onAnimationRepeat(animation);
+            }
+        }
+    };
+    private final View.OnAttachStateChangeListener attachStateListener = new AttachStateListener(this);
+    private final CircleView.OnRenderingStateChangeListener renderingStateListener = new CircleView.OnRenderingStateChangeListener() {
+        @Override
+        public void onRenderingStateChanged(boolean active) {
+            if (circleView == null || !isAnimationRunning) {
+                return;
+            }
+            if (!active && circleView.getAnimation() == CircleViewAnimation.this) {
+                // an animated view is drawn even if invisible, detach the animation without ending it
+                pausedStartTime = getStartTime();
+                circleView.setAnimation(null);
+                isPausedWhileHidden = true;
+            } else if (active && isPausedWhileHidden) {
+                isPausedWhileHidden = false;
+                circleView.startAnimation(CircleViewAnimation.this);
+                // keep the original timing, so that the next frame catches up with the time spent hidden
+                setStartTime(pausedStartTime);
+                isResumedFromHidden = true;
+                lastValueTime = -1;
+            }
+        }
+    };
 
     // Constructor
     public CircleViewAnimation() {
@@ -38,7 +108,7 @@ public class CircleViewAnimation extends Animation implements Disposable {
         this.endValue = 0;
         this.circleViewAnimationStyle = AnimationStyle.PERIODIC;
         this.circleViewAnimationListener = new CircleViewAnimationListener();
-        this.timerManager = new Handler();
+        this.timerManager = new Handler(Looper.getMainLooper());
         this.timerOperation = new Runnable() {
             public void run() {
                 //
@@ -48,10 +118,43 @@ public class CircleViewAnimation extends Animation implements Disposable {
     }
 
     public CircleViewAnimation setCircleView(CircleView circleView) {
+        if (this.circleView != null) {
+            this.circleView.removeOnAttachStateChangeListener(attachStateListener);
+            this.circleView.removeOnRenderingStateChangeListener(renderingStateListener);
+        }
         this.circleView = circleView;
+        if (circleView != null) {
+            circleView.addOnAttachStateChangeListener(attachStateListener);
+            circleView.addOnRenderingStateChangeListener(renderingStateListener);
+        }
+        return this;
+    }
+
+    /**
+     * When enabled, which is the default, the animation unregisters from its view once the view is detached from its
+     * window and registers again once it is reattached, e.g. by a RecyclerView. A detached view then only references
+     * the animation weakly, so that its listeners and timer operation, and the Activity they capture, are not kept in
+     * memory by a view kept for reuse. The animation is always stopped, and its pending timer operation cancelled, on
+     * detach.
+     */
+    public CircleViewAnimation setAutoDisposeOnDetach(boolean autoDispose) {
+        this.isAutoDisposeEnabled = autoDispose;
         return this;
     }
 
+    private void onViewAttachedToWindow() {
+        if (circleView != null) {
+            circleView.addOnRenderingStateChangeListener(renderingStateListener);
+        }
+    }
+
+    private void onViewDetachedFromWindow() {
+        stop();
+        if (isAutoDisposeEnabled && circleView != null) {
+            circleView.removeOnRenderingStateChangeListener(renderingStateListener);
+        }
+    }
+
     public CircleViewAnimation setDuration(float durationInMilliseconds) {
         setDuration((long) durationInMilliseconds);
         return this;
@@ -68,8 +171,26 @@ public class CircleViewAnimation extends Animation implements Disposable {
     }
 
     public CircleViewAnimation setCustomAnimationListener(AnimationListener listener) {
-        this.circleViewAnimationListener.registerAnimationListener(listener);
-        setAnimationListener(listener != null ? circleViewAnimationListener : null);
+        return setCustomAnimationListener(listener, false);
+    }
+
+    /**
+     * @param weakReference if true, the listener is only weakly referenced and does not keep its owner, e.g. an
+     *                      Activity, in memory
+     */
+    public CircleViewAnimation setCustomAnimationListener(AnimationListener listener, boolean weakReference) {
+        if (circleViewAnimationListener == null) {
+            circleViewAnimationListener = new CircleViewAnimationListener();
+        }
+        this.circleViewAnimationListener.registerAnimationListener(listener, weakReference);
+        setAnimationListener(listener != null ? dispatchingListener : null);
+        return this;
+    }
+
+    public CircleViewAnimation removeCustomAnimationListener(AnimationListener listener) {
+        if (circleViewAnimationListener != null) {
+            circleViewAnimationListener.unregisterAnimationListener(listener);
+        }
         return this;
     }
 
@@ -92,23 +213,84 @@ public class CircleViewAnimation extends Animation implements Disposable {
             this.startValue = startValue;
             this.endValue = endValue;
             setDuration(duration == 0 ? startValue - endValue : duration);
+            float distance = Math.abs(endValue - startValue);
+            millisecondsPerUnit = distance > 0 ? duration / distance : 0;
+            isRetargeted = false;
+            currentValue = startValue;
+            currentVelocity = 0;
+            lastValueTime = -1;
+            isResumedFromHidden = false;
             isAnimationRunning = true;
             circleView.startAnimation(this);
-            timerManager.postDelayed(timerOperation, duration * 1000);
+            scheduleTimerOperation(duration);
         }
     }
 
+    /**
+     * Changes the end value of the running animation without restarting it. The animation continues from its current
+     * value and velocity, easing into the new end value over a duration recomputed from the remaining distance at the
+     * original pace. Starts a new animation from the current progress if none is running.
+     */
+    public void retarget(float endValue) {
+        if (circleView == null) {
+            return;
+        }
+        if (!isAnimationRunning) {
+            start(circleView.getProgressValue(), endValue);
+            return;
+        }
+        long now = AnimationUtils.currentAnimationTimeMillis();
+        float distance = Math.abs(endValue - currentValue);
+        retargetDuration = millisecondsPerUnit > 0 ? Math.max(1, (long) (distance * millisecondsPerUnit)) : Math.max(1, duration);
+        retargetStartValue = currentValue;
+        retargetVelocity = currentVelocity;
+        retargetStartTime = now;
+        this.startValue = currentValue;
+        this.endValue = endValue;
+        isRetargeted = true;
+        scheduleTimerOperation(retargetDuration);
+        // stretch the underlying animation so that it ends along with the retargeted one
+        long elapsed = getStartTime() >= 0 ? Math.max(0, now - getStartTime()) : 0;
+        super.setDuration(elapsed + retargetDuration);
+    }
+
+    private void scheduleTimerOperation(long delayInMilliseconds) {
+        if (timerOperation == null) {
+            return;
+        }
+        if (timerManager == null) {
+            timerManager = new Handler(Looper.getMainLooper());
+        }
+        timerManager.removeCallbacks(timerOperation);
+        timerManager.postDelayed(timerOperation, delayInMilliseconds);
+    }
+
+    public boolean isAnimationRunning() {
+        return isAnimationRunning;
+    }
+
     public void stop() {
         if (circleView != null && isAnimationRunning) {
+            // the framework only notifies the end of an animation it has applied a frame of since its start time was set
+            boolean isEndUnnotified = isPausedWhileHidden || isResumedFromHidden;
             isAnimationRunning = false;
-            timerManager.removeCallbacks(timerOperation);
+            isPausedWhileHidden = false;
+            isResumedFromHidden = false;
+            if (timerManager != null && timerOperation != null) {
+                timerManager.removeCallbacks(timerOperation);
+            }
             circleView.clearAnimation();
+            if (isEndUnnotified && circleViewAnimationListener != null) {
+                circleViewAnimationListener.onAnimationEnd(this);
+            }
         }
     }
 
     @Override
     public void start() {
-        start(circleView.getProgressValue(), 0);
+        if (circleView != null) {
+            start(circleView.getProgressValue(), 0);
+        }
     }
 
     @Override
@@ -119,10 +301,30 @@ public class CircleViewAnimation extends Animation implements Disposable {
 
     @Override
     protected void applyTransformation(float interpolatedTime, Transformation transformation) {
+        if (circleView == null) {
+            // disposed while a frame was pending
+            return;
+        }
         if (interpolatedTime == 1.0) {
             stop();
         }
-        currentValue = startValue + ((endValue - startValue) * interpolatedTime);
+        long now = AnimationUtils.currentAnimationTimeMillis();
+        if (interpolatedTime < 1 && lastValueTime >= 0 && !circleView.isAnimationFrameDue((now - lastValueTime) * 1000000L)) {
+            // frame rate capped, e.g. in battery saver
+            return;
+        }
+        if (isRetargeted) {
+            float fraction = interpolatedTime == 1.0 ? 1 : Math.min(1, Math.max(0, (now - retargetStartTime) / (float) retargetDuration));
+            currentValue = getRetargetedValue(fraction);
+        } else {
+            currentValue = startValue + ((endValue - startValue) * interpolatedTime);
+        }
+        if (lastValueTime >= 0 && now > lastValueTime) {
+            currentVelocity = (currentValue - lastValue) / (now - lastValueTime);
+            circleView.onAnimationFrame((now - lastValueTime) * 1000000L);
+        }
+        lastValue = currentValue;
+        lastValueTime = now;
         float changingValue = currentValue;
         if (AnimationStyle.PERIODIC.equals(circleViewAnimationStyle)) {
             changingValue = (int) changingValue;
@@ -130,9 +332,23 @@ public class CircleViewAnimation extends Animation implements Disposable {
         circleView.setProgressValue(changingValue);
     }
 
+    /**
+     * Cubic Hermite curve starting at the retarget value with its velocity and ending at rest on the end value.
+     */
+    private float getRetargetedValue(float fraction) {
+        float squared = fraction * fraction;
+        float cubed = squared * fraction;
+        float startWeight = 2 * cubed - 3 * squared + 1;
+        float velocityWeight = cubed - 2 * squared + fraction;
+        float endWeight = -2 * cubed + 3 * squared;
+        return startWeight * retargetStartValue + velocityWeight * retargetDuration * retargetVelocity + endWeight * endValue;
+    }
+
     @Override
     public void disposeData() {
-        this.setInterpolator(null);
+        stop();
+        // drops a custom interpolator, a frame already scheduled by the framework still needs one
+        super.setInterpolator(new LinearInterpolator());
         circleViewInterpolator = null;
         if (circleViewAnimationListener != null) {
             circleViewAnimationListener.unregisterAnimationListeners();
@@ -145,6 +361,37 @@ public class CircleViewAnimation extends Animation implements Disposable {
             timerOperation = null;
             timerManager = null;
         }
+        setAnimationListener(null);
+        setCircleView(null);
+    }
+
+    /**
+     * Only weakly references the animation, so that the views keep no animation in memory through their listeners.
+     */
+    private static final class AttachStateListener implements View.OnAttachStateChangeListener {
+
+        private final WeakReference<CircleViewAnimation> animationReference;
+
+        private AttachStateListener(CircleViewAnimation animation) {
+            this.animationReference = new WeakReference<>(animation);
+        }
+
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            CircleViewAnimation animation = animationReference.get();
+            if (animation != null) {
+                animation.onViewAttachedToWindow();
+            }
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            CircleViewAnimation animation = animationReference.get();
+            if (animation != null) {
+                animation.onViewDetachedFromWindow();
+            }
+        }
+
     }
 
-}
\ No newline at end of file
+}
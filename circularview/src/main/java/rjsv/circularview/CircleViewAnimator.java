@@ -0,0 +1,379 @@
+package rjsv.circularview;
+
+import android.animation.TimeInterpolator;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import rjsv.circularview.utils.Disposable;
+import rjsv.circularview.utils.FrameClock;
+import rjsv.circularview.utils.SharedFrameClock;
+
+/**
+ * Frame synchronized animation engine for the {@link CircleView}, driven by a {@link FrameClock}.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class CircleViewAnimator implements FrameClock.FrameCallback, Disposable {
+
+    private static final long NANOS_PER_MILLISECOND = 1000000L;
+
+    private CircleView circleView;
+    private FrameClock frameClock;
+    private TimeInterpolator interpolator;
+    private AnimatorListener animatorListener;
+
+    private float startAngle;
+    private float endAngle;
+    private float animatedAngle;
+    // degrees per nanosecond, measured between the last two applied frames
+    private float angularVelocity;
+    private float retargetVelocity;
+    private boolean isRetargeted = false;
+    private long durationNanos;
+    private long playTimeNanos;
+    private long lastFrameTimeNanos = -1;
+    private long lastAppliedFrameTimeNanos = -1;
+    private boolean isRunning = false;
+    private boolean isPaused = false;
+    private boolean isReversed = false;
+    private boolean isSuspended = false;
+    private final View.OnAttachStateChangeListener attachStateListener = new View.OnAttachStateChangeListener() {
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            if (isSuspended) {
+                isSuspended = false;
+                lastFrameTimeNanos = -1;
+                lastAppliedFrameTimeNanos = -1;
+                frameClock.postFrameCallback(CircleViewAnimator.this);
+            }
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            // suspended on the next frame
+        }
+    };
+    private final CircleView.OnRenderingStateChangeListener renderingStateListener = new CircleView.OnRenderingStateChangeListener() {
+        @Override
+        public void onRenderingStateChanged(boolean active) {
+            if (active && isSuspended && ViewCompat.isAttachedToWindow(circleView)) {
+                // the last frame time is kept, so that the next frame accounts for the time spent hidden
+                isSuspended = false;
+                lastAppliedFrameTimeNanos = -1;
+                frameClock.postFrameCallback(CircleViewAnimator.this);
+            }
+        }
+    };
+
+    // Constructor
+    public CircleViewAnimator() {
+        this.frameClock = SharedFrameClock.getInstance();
+        this.interpolator = new LinearInterpolator();
+    }
+
+    public CircleViewAnimator(FrameClock frameClock) {
+        this.frameClock = frameClock;
+        this.interpolator = new LinearInterpolator();
+    }
+
+    public CircleViewAnimator setCircleView(CircleView circleView) {
+        if (this.circleView != null) {
+            this.circleView.removeOnAttachStateChangeListener(attachStateListener);
+            this.circleView.removeOnRenderingStateChangeListener(renderingStateListener);
+        }
+        this.circleView = circleView;
+        if (circleView != null) {
+            circleView.addOnAttachStateChangeListener(attachStateListener);
+            circleView.addOnRenderingStateChangeListener(renderingStateListener);
+        }
+        return this;
+    }
+
+    public CircleViewAnimator setFrameClock(FrameClock frameClock) {
+        if (frameClock != null && frameClock != this.frameClock) {
+            if (isRunning && !isPaused && !isSuspended) {
+                this.frameClock.removeFrameCallback(this);
+                frameClock.postFrameCallback(this);
+            }
+            this.frameClock = frameClock;
+        }
+        return this;
+    }
+
+    public CircleViewAnimator setDuration(long durationInMilliseconds) {
+        this.durationNanos = Math.max(0, durationInMilliseconds) * NANOS_PER_MILLISECOND;
+        return this;
+    }
+
+    public CircleViewAnimator setInterpolator(TimeInterpolator interpolator) {
+        this.interpolator = interpolator != null ? interpolator : new LinearInterpolator();
+        return this;
+    }
+
+    public CircleViewAnimator setAnimatorListener(AnimatorListener animatorListener) {
+        this.animatorListener = animatorListener;
+        return this;
+    }
+
+    // Playback
+    /**
+     * Animates between two progress values of the bound {@link CircleView}.
+     */
+    public void start(float startValue, float endValue) {
+        if (circleView != null) {
+            startAngles(circleView.convertProgressToAngle(startValue), circleView.convertProgressToAngle(endValue));
+        }
+    }
+
+    /**
+     * Animates between two angles, restarting the animation if it was already running.
+     */
+    public void startAngles(float startAngle, float endAngle) {
+        this.startAngle = startAngle;
+        this.endAngle = endAngle;
+        this.playTimeNanos = 0;
+        this.isReversed = false;
+        this.isRetargeted = false;
+        play();
+    }
+
+    /**
+     * Animates from the current angle towards a new one, over the set duration. A running animation is retargeted,
+     * keeping its frame timing, instead of being restarted: it continues from its current angle and velocity, easing
+     * into the new angle along a cubic Hermite curve rather than the interpolator. Starts a new animation from the
+     * current angle if none is playing.
+     */
+    public void animateTo(float endAngle) {
+        float currentAngle = circleView != null ? circleView.getProgressAngle() : animatedAngle;
+        if (!isRunning || isPaused) {
+            startAngles(currentAngle, endAngle);
+            return;
+        }
+        this.startAngle = currentAngle;
+        this.endAngle = endAngle;
+        this.playTimeNanos = 0;
+        this.isReversed = false;
+        this.isRetargeted = true;
+        this.retargetVelocity = angularVelocity;
+    }
+
+    /**
+     * Pauses the animation on its current frame. Does nothing if it is not running.
+     */
+    public void pause() {
+        if (isRunning && !isPaused) {
+            isPaused = true;
+            frameClock.removeFrameCallback(this);
+        }
+    }
+
+    public void resume() {
+        if (isRunning && isPaused) {
+            isPaused = false;
+            isSuspended = false;
+            lastFrameTimeNanos = -1;
+            lastAppliedFrameTimeNanos = -1;
+            frameClock.postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Flips the playing direction while keeping the current position. If the animation is not running, it is played
+     * backwards from its end.
+     */
+    public void reverse() {
+        if (isRunning) {
+            isReversed = !isReversed;
+            playTimeNanos = durationNanos - playTimeNanos;
+        } else {
+            isReversed = !isReversed;
+            playTimeNanos = 0;
+            play();
+        }
+    }
+
+    /**
+     * Moves the animation to the given fraction of its duration, in the current playing direction.
+     */
+    public void seek(float fraction) {
+        fraction = Math.max(0, Math.min(1, fraction));
+        playTimeNanos = (long) (durationNanos * fraction);
+        applyPlayTime();
+    }
+
+    public void setCurrentPlayTime(long playTimeInMilliseconds) {
+        playTimeNanos = Math.max(0, Math.min(durationNanos, playTimeInMilliseconds * NANOS_PER_MILLISECOND));
+        applyPlayTime();
+    }
+
+    /**
+     * Stops the animation on its current frame.
+     */
+    public void cancel() {
+        if (isRunning) {
+            stopPlaying();
+            if (animatorListener != null) {
+                animatorListener.onAnimatorCancel(this);
+            }
+        }
+    }
+
+    /**
+     * Stops the animation, jumping to its final frame.
+     */
+    public void end() {
+        if (isRunning) {
+            playTimeNanos = durationNanos;
+            applyPlayTime();
+            finish();
+        }
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    public boolean isPaused() {
+        return isPaused;
+    }
+
+    /**
+     * @return true while the animation is on hold because its view is detached from its window or hidden
+     */
+    public boolean isSuspended() {
+        return isSuspended;
+    }
+
+    public float getAnimatedAngle() {
+        return animatedAngle;
+    }
+
+    public float getAnimatedFraction() {
+        return durationNanos == 0 ? 1 : (float) playTimeNanos / durationNanos;
+    }
+
+    // Frame handling
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!isRunning || isPaused) {
+            return;
+        }
+        if (circleView != null) {
+            if (!ViewCompat.isAttachedToWindow(circleView)) {
+                // stop ticking until the view is attached again
+                isSuspended = true;
+                lastFrameTimeNanos = -1;
+                return;
+            }
+            if (!circleView.isRenderingActive()) {
+                // stop ticking until the view is visible again, the time elapsed meanwhile is then caught up
+                isSuspended = true;
+                return;
+            }
+        }
+        if (lastFrameTimeNanos >= 0) {
+            playTimeNanos += frameTimeNanos - lastFrameTimeNanos;
+        }
+        lastFrameTimeNanos = frameTimeNanos;
+        if (playTimeNanos >= durationNanos) {
+            playTimeNanos = durationNanos;
+            applyPlayTime();
+            finish();
+        } else {
+            long elapsedNanos = frameTimeNanos - lastAppliedFrameTimeNanos;
+            if (lastAppliedFrameTimeNanos < 0 || circleView == null || circleView.isAnimationFrameDue(elapsedNanos)) {
+                float previousAngle = animatedAngle;
+                applyPlayTime();
+                if (lastAppliedFrameTimeNanos >= 0 && elapsedNanos > 0) {
+                    angularVelocity = (animatedAngle - previousAngle) / elapsedNanos;
+                    if (circleView != null) {
+                        circleView.onAnimationFrame(elapsedNanos);
+                    }
+                }
+                lastAppliedFrameTimeNanos = frameTimeNanos;
+            }
+            frameClock.postFrameCallback(this);
+        }
+    }
+
+    private void play() {
+        boolean wasTicking = isRunning && !isPaused && !isSuspended;
+        isRunning = true;
+        isPaused = false;
+        isSuspended = false;
+        lastFrameTimeNanos = -1;
+        lastAppliedFrameTimeNanos = -1;
+        angularVelocity = 0;
+        applyPlayTime();
+        if (!wasTicking) {
+            frameClock.postFrameCallback(this);
+        }
+        if (animatorListener != null) {
+            animatorListener.onAnimatorStart(this);
+        }
+    }
+
+    private void finish() {
+        stopPlaying();
+        if (animatorListener != null) {
+            animatorListener.onAnimatorEnd(this);
+        }
+    }
+
+    private void stopPlaying() {
+        isRunning = false;
+        isPaused = false;
+        isSuspended = false;
+        lastFrameTimeNanos = -1;
+        frameClock.removeFrameCallback(this);
+    }
+
+    private void applyPlayTime() {
+        float fraction = getAnimatedFraction();
+        if (isReversed) {
+            fraction = 1 - fraction;
+        }
+        if (isRetargeted) {
+            animatedAngle = getRetargetedAngle(fraction);
+        } else {
+            animatedAngle = startAngle + (endAngle - startAngle) * interpolator.getInterpolation(fraction);
+        }
+        if (circleView != null) {
+            circleView.setAnimatedAngle(animatedAngle);
+        }
+    }
+
+    /**
+     * Cubic Hermite curve starting at the retarget angle with the velocity it was retargeted at and ending at rest on
+     * the end angle.
+     */
+    private float getRetargetedAngle(float fraction) {
+        float squared = fraction * fraction;
+        float cubed = squared * fraction;
+        float startWeight = 2 * cubed - 3 * squared + 1;
+        float velocityWeight = cubed - 2 * squared + fraction;
+        float endWeight = -2 * cubed + 3 * squared;
+        return startWeight * startAngle + velocityWeight * durationNanos * retargetVelocity + endWeight * endAngle;
+    }
+
+    @Override
+    public void disposeData() {
+        stopPlaying();
+        animatorListener = null;
+        setCircleView(null);
+    }
+
+    public interface AnimatorListener {
+
+        void onAnimatorStart(CircleViewAnimator animator);
+
+        void onAnimatorEnd(CircleViewAnimator animator);
+
+        void onAnimatorCancel(CircleViewAnimator animator);
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package rjsv.circularview;
+
+/**
+ * Binding between a {@link CircleViewDataSource} and a {@link CircleView}, sampling its values at most once per frame.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class CircleViewBinding implements CircleViewDataSource.Sink {
+
+    private final CircleView circleView;
+    private final CircleViewAnimator animator;
+    private CircleViewDataSource.Subscription subscription;
+    private volatile boolean isSubscribed = false;
+
+    CircleViewBinding(CircleView circleView, long animationDurationInMilliseconds) {
+        this.circleView = circleView;
+        if (animationDurationInMilliseconds > 0) {
+            this.animator = new CircleViewAnimator()
+                    .setCircleView(circleView)
+                    .setDuration(animationDurationInMilliseconds);
+        } else {
+            this.animator = null;
+        }
+    }
+
+    void subscribe(CircleViewDataSource dataSource) {
+        isSubscribed = true;
+        subscription = dataSource.subscribe(this);
+    }
+
+    @Override
+    public void onValue(float value) {
+        if (isSubscribed) {
+            circleView.postProgressValue(value);
+        }
+    }
+
+    /**
+     * Applies a sampled value, on the UI thread.
+     */
+    void apply(float value) {
+        value = Math.max(circleView.getMinimumValue(), Math.min(circleView.getMaximumValue(), value));
+        if (animator == null) {
+            circleView.setProgressValue(value);
+        } else {
+            animator.animateTo(circleView.convertProgressToAngle(value));
+            circleView.dispatchTargetValue(value);
+        }
+    }
+
+    public boolean isSubscribed() {
+        return isSubscribed;
+    }
+
+    public void unsubscribe() {
+        if (isSubscribed) {
+            isSubscribed = false;
+            if (subscription != null) {
+                subscription.unsubscribe();
+                subscription = null;
+            }
+            if (animator != null) {
+                animator.disposeData();
+            }
+        }
+    }
+
+}
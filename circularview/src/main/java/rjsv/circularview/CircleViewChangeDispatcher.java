@@ -0,0 +1,218 @@
+package rjsv.circularview;
+
+import android.os.SystemClock;
+import android.support.v4.view.ViewCompat;
+
+import rjsv.circularview.enumerators.DispatchPolicy;
+
+/**
+ * Delivers the {@link CircleViewChangeListener} callbacks of a {@link CircleView} according to a {@link DispatchPolicy}.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+class CircleViewChangeDispatcher implements Runnable {
+
+    private static final CircleViewChangeListener[] NO_LISTENERS = new CircleViewChangeListener[0];
+
+    private final CircleView circleView;
+    // copy on write, so that listeners may be added or removed while being notified
+    private CircleViewChangeListener[] listeners = NO_LISTENERS;
+    private DispatchPolicy policy = DispatchPolicy.IMMEDIATE;
+    private long intervalInMilliseconds;
+    private boolean distinctValuesOnly = false;
+
+    private float pendingValue;
+    private boolean hasPendingValue = false;
+    private boolean isScheduled = false;
+    private float lastDispatchedValue = Float.NaN;
+    private long lastDispatchTime;
+    private long dispatchedCount;
+    private long suppressedCount;
+
+    CircleViewChangeDispatcher(CircleView circleView) {
+        this.circleView = circleView;
+    }
+
+    /**
+     * Replaces every registered listener by the given one, or removes them all if null.
+     */
+    void setListener(CircleViewChangeListener listener) {
+        this.listeners = listener != null ? new CircleViewChangeListener[]{listener} : NO_LISTENERS;
+    }
+
+    void addListener(CircleViewChangeListener listener) {
+        if (listener == null) {
+            return;
+        }
+        for (CircleViewChangeListener registered : listeners) {
+            if (registered == listener) {
+                return;
+            }
+        }
+        CircleViewChangeListener[] updated = new CircleViewChangeListener[listeners.length + 1];
+        System.arraycopy(listeners, 0, updated, 0, listeners.length);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    void removeListener(CircleViewChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                if (listeners.length == 1) {
+                    listeners = NO_LISTENERS;
+                } else {
+                    CircleViewChangeListener[] updated = new CircleViewChangeListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, updated, 0, i);
+                    System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                    listeners = updated;
+                }
+                return;
+            }
+        }
+    }
+
+    void setPolicy(DispatchPolicy policy, long intervalInMilliseconds) {
+        flush();
+        this.policy = policy != null ? policy : DispatchPolicy.IMMEDIATE;
+        this.intervalInMilliseconds = Math.max(0, intervalInMilliseconds);
+    }
+
+    DispatchPolicy getPolicy() {
+        return policy;
+    }
+
+    long getInterval() {
+        return intervalInMilliseconds;
+    }
+
+    void setDistinctValuesOnly(boolean distinctValuesOnly) {
+        this.distinctValuesOnly = distinctValuesOnly;
+    }
+
+    boolean isDistinctValuesOnly() {
+        return distinctValuesOnly;
+    }
+
+    long getDispatchedCount() {
+        return dispatchedCount;
+    }
+
+    long getSuppressedCount() {
+        return suppressedCount;
+    }
+
+    void resetCounters() {
+        dispatchedCount = 0;
+        suppressedCount = 0;
+    }
+
+    // Dispatching
+    void dispatchPointsChanged(float value) {
+        if (listeners.length == 0) {
+            return;
+        }
+        switch (policy) {
+            case FRAME_COALESCED:
+                setPendingValue(value);
+                if (!isScheduled) {
+                    isScheduled = true;
+                    ViewCompat.postOnAnimation(circleView, this);
+                }
+                break;
+            case THROTTLED:
+                long elapsed = SystemClock.uptimeMillis() - lastDispatchTime;
+                if (elapsed >= intervalInMilliseconds && !isScheduled) {
+                    deliver(value);
+                } else {
+                    // keep the latest value so that it is delivered as the trailing edge
+                    setPendingValue(value);
+                    if (!isScheduled) {
+                        isScheduled = true;
+                        circleView.postDelayed(this, intervalInMilliseconds - elapsed);
+                    }
+                }
+                break;
+            case DEBOUNCED:
+                setPendingValue(value);
+                circleView.removeCallbacks(this);
+                isScheduled = true;
+                circleView.postDelayed(this, intervalInMilliseconds);
+                break;
+            default:
+                deliver(value);
+                break;
+        }
+    }
+
+    void dispatchStartTracking() {
+        CircleViewChangeListener[] snapshot = listeners;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i].onStartTracking(circleView);
+        }
+    }
+
+    void dispatchStopTracking() {
+        flush();
+        CircleViewChangeListener[] snapshot = listeners;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i].onStopTracking(circleView);
+        }
+    }
+
+    /**
+     * Delivers the pending change, if any, right away.
+     */
+    void flush() {
+        if (isScheduled) {
+            circleView.removeCallbacks(this);
+        }
+        run();
+    }
+
+    @Override
+    public void run() {
+        isScheduled = false;
+        if (hasPendingValue) {
+            hasPendingValue = false;
+            deliver(pendingValue);
+        }
+    }
+
+    private void setPendingValue(float value) {
+        if (hasPendingValue) {
+            suppressedCount++;
+        }
+        pendingValue = value;
+        hasPendingValue = true;
+    }
+
+    private void deliver(float value) {
+        CircleViewChangeListener[] snapshot = listeners;
+        if (snapshot.length == 0) {
+            return;
+        }
+        if (distinctValuesOnly && value == lastDispatchedValue) {
+            suppressedCount++;
+            return;
+        }
+        lastDispatchedValue = value;
+        lastDispatchTime = SystemClock.uptimeMillis();
+        dispatchedCount++;
+        if (circleView.isMetricsEnabled()) {
+            long dispatchStartTime = System.nanoTime();
+            notifyPointsChanged(snapshot, value);
+            circleView.getMetricsSink().onListenerDispatch(circleView, System.nanoTime() - dispatchStartTime);
+        } else {
+            notifyPointsChanged(snapshot, value);
+        }
+    }
+
+    private void notifyPointsChanged(CircleViewChangeListener[] snapshot, float value) {
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i].onPointsChanged(circleView, value);
+        }
+    }
+
+}
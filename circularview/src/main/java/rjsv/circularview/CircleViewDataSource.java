@@ -0,0 +1,29 @@
+package rjsv.circularview;
+
+/**
+ * Push source of progress values that a {@link CircleView} can be bound to.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public interface CircleViewDataSource {
+
+    /**
+     * Starts pushing values into the sink, from any thread, until the returned subscription is cancelled.
+     */
+    Subscription subscribe(Sink sink);
+
+    interface Sink {
+
+        void onValue(float value);
+
+    }
+
+    interface Subscription {
+
+        void unsubscribe();
+
+    }
+
+}
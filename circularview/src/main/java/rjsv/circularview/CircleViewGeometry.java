@@ -0,0 +1,63 @@
+package rjsv.circularview;
+
+import android.graphics.RectF;
+
+/**
+ * Immutable layout of a {@link CircleView} for a given size, padding and indicator radius.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+final class CircleViewGeometry {
+
+    private final int width;
+    private final int height;
+    private final int padding;
+    private final int indicatorRadius;
+
+    private final float centerX;
+    private final float centerY;
+    private final int arcRadius;
+    private final float arcLeft;
+    private final float arcTop;
+    private final float arcDiameter;
+
+    CircleViewGeometry(int width, int height, int padding, int indicatorRadius) {
+        this.width = width;
+        this.height = height;
+        this.padding = padding;
+        this.indicatorRadius = indicatorRadius;
+
+        int min = Math.min(width, height);
+        int diameter = min - padding - indicatorRadius;
+        this.centerX = width * 0.5f;
+        this.centerY = height * 0.5f;
+        this.arcRadius = diameter / 2;
+        this.arcTop = height / 2 - (diameter / 2);
+        this.arcLeft = width / 2 - (diameter / 2);
+        this.arcDiameter = diameter;
+    }
+
+    boolean isFor(int width, int height, int padding, int indicatorRadius) {
+        return this.width == width && this.height == height && this.padding == padding
+                && this.indicatorRadius == indicatorRadius;
+    }
+
+    float getCenterX() {
+        return centerX;
+    }
+
+    float getCenterY() {
+        return centerY;
+    }
+
+    int getArcRadius() {
+        return arcRadius;
+    }
+
+    void getArcRect(RectF outRect) {
+        outRect.set(arcLeft, arcTop, arcLeft + arcDiameter, arcTop + arcDiameter);
+    }
+
+}
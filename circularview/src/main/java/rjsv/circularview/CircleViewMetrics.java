@@ -0,0 +1,161 @@
+package rjsv.circularview;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free {@link CircleViewMetricsSink} aggregating the metrics of any number of views into counters.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class CircleViewMetrics implements CircleViewMetricsSink {
+
+    static final long NOMINAL_FRAME_NANOS = 16666667L;
+    // upper bounds of the draw duration histogram buckets, the last bucket holds everything above
+    private static final long[] DRAW_BUCKET_BOUNDS_NANOS = {
+            250000L, 500000L, 1000000L, 2000000L, 4000000L, 8000000L, 16000000L
+    };
+
+    private final AtomicLongArray drawHistogram = new AtomicLongArray(DRAW_BUCKET_BOUNDS_NANOS.length + 1);
+    private final AtomicLong drawCount = new AtomicLong();
+    private final AtomicLong drawTotalNanos = new AtomicLong();
+    private final AtomicLong drawMaximumNanos = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final AtomicLong processedTouchSamples = new AtomicLong();
+    private final AtomicLong droppedTouchSamples = new AtomicLong();
+    private final AtomicLong dispatchCount = new AtomicLong();
+    private final AtomicLong dispatchTotalNanos = new AtomicLong();
+    private final AtomicLong skippedFrames = new AtomicLong();
+    private final AtomicLong startTimeNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * @return the frames missed between two animation updates that are the given time apart, for the expected
+     * interval between frames
+     */
+    static int getSkippedFrames(long frameDeltaNanos, long frameIntervalNanos) {
+        // half a frame of tolerance for the jitter of the frame timestamps
+        return (int) Math.max(0, (frameDeltaNanos + frameIntervalNanos / 2) / frameIntervalNanos - 1);
+    }
+
+    // Recording
+    @Override
+    public void onDraw(CircleView circleView, long durationNanos) {
+        int bucket = 0;
+        while (bucket < DRAW_BUCKET_BOUNDS_NANOS.length && durationNanos > DRAW_BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        drawHistogram.incrementAndGet(bucket);
+        drawCount.incrementAndGet();
+        drawTotalNanos.addAndGet(durationNanos);
+        long maximum = drawMaximumNanos.get();
+        while (durationNanos > maximum && !drawMaximumNanos.compareAndSet(maximum, durationNanos)) {
+            maximum = drawMaximumNanos.get();
+        }
+    }
+
+    @Override
+    public void onInvalidate(CircleView circleView) {
+        invalidationCount.incrementAndGet();
+    }
+
+    @Override
+    public void onTouchSamples(CircleView circleView, int processedSamples, int droppedSamples) {
+        processedTouchSamples.addAndGet(processedSamples);
+        droppedTouchSamples.addAndGet(droppedSamples);
+    }
+
+    @Override
+    public void onListenerDispatch(CircleView circleView, long durationNanos) {
+        dispatchCount.incrementAndGet();
+        dispatchTotalNanos.addAndGet(durationNanos);
+    }
+
+    @Override
+    public void onFramesSkipped(CircleView circleView, int skippedFrames) {
+        this.skippedFrames.addAndGet(skippedFrames);
+    }
+
+    // Reading
+    public int getDrawBucketCount() {
+        return DRAW_BUCKET_BOUNDS_NANOS.length + 1;
+    }
+
+    /**
+     * @return the upper bound of the bucket, in nanoseconds, or Long.MAX_VALUE for the last one
+     */
+    public long getDrawBucketUpperBoundNanos(int bucket) {
+        return bucket < DRAW_BUCKET_BOUNDS_NANOS.length ? DRAW_BUCKET_BOUNDS_NANOS[bucket] : Long.MAX_VALUE;
+    }
+
+    public long getDrawBucketValue(int bucket) {
+        return drawHistogram.get(bucket);
+    }
+
+    public long getDrawCount() {
+        return drawCount.get();
+    }
+
+    public long getAverageDrawNanos() {
+        long count = drawCount.get();
+        return count > 0 ? drawTotalNanos.get() / count : 0;
+    }
+
+    public long getMaximumDrawNanos() {
+        return drawMaximumNanos.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    /**
+     * @return the invalidations per second since this instance was created or last reset
+     */
+    public double getInvalidationsPerSecond() {
+        long elapsed = System.nanoTime() - startTimeNanos.get();
+        return elapsed > 0 ? invalidationCount.get() * 1e9 / elapsed : 0;
+    }
+
+    public long getProcessedTouchSamples() {
+        return processedTouchSamples.get();
+    }
+
+    public long getDroppedTouchSamples() {
+        return droppedTouchSamples.get();
+    }
+
+    public long getDispatchCount() {
+        return dispatchCount.get();
+    }
+
+    public long getAverageDispatchNanos() {
+        long count = dispatchCount.get();
+        return count > 0 ? dispatchTotalNanos.get() / count : 0;
+    }
+
+    public long getSkippedFrames() {
+        return skippedFrames.get();
+    }
+
+    /**
+     * Zeroes every counter. Values recorded concurrently may be kept or lost.
+     */
+    public void reset() {
+        for (int i = 0; i < drawHistogram.length(); i++) {
+            drawHistogram.set(i, 0);
+        }
+        drawCount.set(0);
+        drawTotalNanos.set(0);
+        drawMaximumNanos.set(0);
+        invalidationCount.set(0);
+        processedTouchSamples.set(0);
+        droppedTouchSamples.set(0);
+        dispatchCount.set(0);
+        dispatchTotalNanos.set(0);
+        skippedFrames.set(0);
+        startTimeNanos.set(System.nanoTime());
+    }
+
+}
@@ -0,0 +1,57 @@
+package rjsv.circularview;
+
+/**
+ * Receives the rendering and event metrics of a {@link CircleView}, on the UI thread, where it must not block.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public interface CircleViewMetricsSink {
+
+    /**
+     * Ignores every metric. The default sink, with which the view does not measure anything.
+     */
+    CircleViewMetricsSink NONE = new CircleViewMetricsSink() {
+        @Override
+        public void onDraw(CircleView circleView, long durationNanos) {
+        }
+
+        @Override
+        public void onInvalidate(CircleView circleView) {
+        }
+
+        @Override
+        public void onTouchSamples(CircleView circleView, int processedSamples, int droppedSamples) {
+        }
+
+        @Override
+        public void onListenerDispatch(CircleView circleView, long durationNanos) {
+        }
+
+        @Override
+        public void onFramesSkipped(CircleView circleView, int skippedFrames) {
+        }
+    };
+
+    void onDraw(CircleView circleView, long durationNanos);
+
+    void onInvalidate(CircleView circleView);
+
+    /**
+     * Called once per batch of move events. The samples of a batch that did not change the value, e.g. because they
+     * stayed within the same step, are reported as dropped.
+     */
+    void onTouchSamples(CircleView circleView, int processedSamples, int droppedSamples);
+
+    /**
+     * @param durationNanos time spent notifying every change listener of a single value
+     */
+    void onListenerDispatch(CircleView circleView, long durationNanos);
+
+    /**
+     * @param skippedFrames frames missed by an animation between two of its updates, at 60 frames per second
+     */
+    void onFramesSkipped(CircleView circleView, int skippedFrames);
+
+}
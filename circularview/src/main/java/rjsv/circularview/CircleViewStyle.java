@@ -0,0 +1,329 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.support.v4.content.ContextCompat;
+
+/**
+ * Immutable appearance of a {@link CircleView}, shareable by many instances such as the items of a RecyclerView.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public final class CircleViewStyle {
+
+    private final int arcColor;
+    private final int arcBorderColor;
+    private final int arcWidth;
+    private final boolean arcHasBorder;
+    private final int progressColor;
+    private final float progressWidth;
+    private final boolean progressBarSquared;
+    private final boolean progressStepAsInteger;
+    private final boolean hasIndicator;
+    private final int indicatorColor;
+    private final int indicatorRadius;
+    private final boolean textEnabled;
+    private final float textSize;
+    private final int textColor;
+    private final int textDecimalPlaces;
+    private final Typeface textTypeFace;
+    private final boolean suffixEnabled;
+    private final String suffixValue;
+    private final boolean clockwise;
+    private final boolean enabled;
+
+    // Template paints, never modified after construction
+    private final Paint arcPaint;
+    private final Paint arcBorderPaint;
+    private final Paint progressPaint;
+    private final Paint indicatorPaint;
+    private final Paint textPaint;
+    private final Paint suffixPaint;
+
+    private CircleViewStyle(Builder builder) {
+        this.arcColor = builder.arcColor;
+        this.arcBorderColor = builder.arcBorderColor;
+        this.arcWidth = builder.arcWidth;
+        this.arcHasBorder = builder.arcHasBorder;
+        this.progressColor = builder.progressColor;
+        this.progressWidth = builder.progressWidth;
+        this.progressBarSquared = builder.progressBarSquared;
+        this.progressStepAsInteger = builder.progressStepAsInteger;
+        this.hasIndicator = builder.hasIndicator;
+        this.indicatorColor = builder.indicatorColor;
+        this.indicatorRadius = builder.indicatorRadius;
+        this.textEnabled = builder.textEnabled;
+        this.textSize = builder.textSize;
+        this.textColor = builder.textColor;
+        this.textDecimalPlaces = builder.textDecimalPlaces;
+        this.textTypeFace = builder.textTypeFace;
+        this.suffixEnabled = builder.suffixEnabled;
+        this.suffixValue = builder.suffixValue;
+        this.clockwise = builder.clockwise;
+        this.enabled = builder.enabled;
+
+        this.arcPaint = createStrokePaint(arcColor, arcWidth, Paint.Cap.ROUND);
+        this.arcBorderPaint = createStrokePaint(arcBorderColor, (float) (arcWidth * 1.2), Paint.Cap.ROUND);
+        this.progressPaint = createStrokePaint(progressColor, arcHasBorder ? progressWidth : arcWidth,
+                progressBarSquared ? Paint.Cap.SQUARE : Paint.Cap.ROUND);
+        this.indicatorPaint = createStrokePaint(indicatorColor, indicatorRadius, Paint.Cap.ROUND);
+        this.indicatorPaint.setStyle(Paint.Style.FILL_AND_STROKE);
+        this.textPaint = createTextPaint(textColor, textSize, textTypeFace);
+        this.suffixPaint = createTextPaint(textColor, textSize / 2, textTypeFace);
+    }
+
+    Paint getArcPaint() {
+        return arcPaint;
+    }
+
+    Paint getArcBorderPaint() {
+        return arcBorderPaint;
+    }
+
+    Paint getProgressPaint() {
+        return progressPaint;
+    }
+
+    Paint getIndicatorPaint() {
+        return indicatorPaint;
+    }
+
+    Paint getTextPaint() {
+        return textPaint;
+    }
+
+    Paint getSuffixPaint() {
+        return suffixPaint;
+    }
+
+    // Paint setup shared with CircleView
+    static Paint createStrokePaint(int color, float width, Paint.Cap cap) {
+        Paint paint = new Paint();
+        paint.setColor(color);
+        paint.setAntiAlias(true);
+        paint.setStrokeCap(cap);
+        paint.setStrokeJoin(Paint.Join.ROUND);
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setStrokeWidth(width);
+        return paint;
+    }
+
+    static Paint createTextPaint(int color, float size, Typeface typeface) {
+        Paint paint = new Paint();
+        paint.setColor(color);
+        paint.setAntiAlias(true);
+        paint.setStyle(Paint.Style.FILL);
+        paint.setTextSize(size);
+        paint.setTypeface(typeface);
+        return paint;
+    }
+
+    // Getters
+    public int getArcWidth() {
+        return arcWidth;
+    }
+
+    public boolean hasArcBorder() {
+        return arcHasBorder;
+    }
+
+    public float getProgressWidth() {
+        return progressWidth;
+    }
+
+    public boolean isProgressBarSquared() {
+        return progressBarSquared;
+    }
+
+    public boolean isProgressStepAsInteger() {
+        return progressStepAsInteger;
+    }
+
+    public boolean hasIndicator() {
+        return hasIndicator;
+    }
+
+    public int getIndicatorRadius() {
+        return indicatorRadius;
+    }
+
+    public boolean isTextEnabled() {
+        return textEnabled;
+    }
+
+    public float getTextSize() {
+        return textSize;
+    }
+
+    public int getTextDecimalPlaces() {
+        return textDecimalPlaces;
+    }
+
+    public Typeface getTextTypeFace() {
+        return textTypeFace;
+    }
+
+    public boolean isSuffixEnabled() {
+        return suffixEnabled;
+    }
+
+    public String getSuffixValue() {
+        return suffixValue;
+    }
+
+    public boolean isClockwise() {
+        return clockwise;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static class Builder {
+
+        private int arcColor;
+        private int arcBorderColor;
+        private int arcWidth = 20;
+        private boolean arcHasBorder = false;
+        private int progressColor;
+        private float progressWidth = 20;
+        private boolean progressBarSquared = false;
+        private boolean progressStepAsInteger = false;
+        private boolean hasIndicator = false;
+        private int indicatorColor;
+        private int indicatorRadius = 4;
+        private boolean textEnabled = true;
+        private float textSize = 72;
+        private int textColor;
+        private int textDecimalPlaces = 1;
+        private Typeface textTypeFace = Typeface.DEFAULT;
+        private boolean suffixEnabled = false;
+        private String suffixValue = "";
+        private boolean clockwise = true;
+        private boolean enabled = true;
+
+        /**
+         * Starts from the same defaults as an inflated {@link CircleView} without attributes.
+         */
+        public Builder(Context context) {
+            float density = context.getResources().getDisplayMetrics().density;
+            arcColor = ContextCompat.getColor(context, R.color.color_arc);
+            arcBorderColor = ContextCompat.getColor(context, R.color.color_arc_border);
+            progressColor = ContextCompat.getColor(context, R.color.color_progress);
+            textColor = ContextCompat.getColor(context, R.color.color_text);
+            indicatorColor = ContextCompat.getColor(context, R.color.color_indicator);
+            progressWidth = (int) (progressWidth * density);
+            arcWidth = (int) (arcWidth * density);
+            textSize = (int) (textSize * density);
+        }
+
+        public Builder setArcColor(int arcColor) {
+            this.arcColor = arcColor;
+            return this;
+        }
+
+        public Builder setArcBorderColor(int arcBorderColor) {
+            this.arcBorderColor = arcBorderColor;
+            return this;
+        }
+
+        public Builder setArcWidth(int arcWidth) {
+            this.arcWidth = arcWidth;
+            return this;
+        }
+
+        public Builder setArcHasBorder(boolean arcHasBorder) {
+            this.arcHasBorder = arcHasBorder;
+            return this;
+        }
+
+        public Builder setProgressColor(int progressColor) {
+            this.progressColor = progressColor;
+            return this;
+        }
+
+        public Builder setProgressWidth(float progressWidth) {
+            this.progressWidth = progressWidth;
+            return this;
+        }
+
+        public Builder setProgressBarSquared(boolean progressBarSquared) {
+            this.progressBarSquared = progressBarSquared;
+            return this;
+        }
+
+        public Builder setProgressStepAsInteger(boolean progressStepAsInteger) {
+            this.progressStepAsInteger = progressStepAsInteger;
+            return this;
+        }
+
+        public Builder setHasIndicator(boolean hasIndicator) {
+            this.hasIndicator = hasIndicator;
+            return this;
+        }
+
+        public Builder setIndicatorColor(int indicatorColor) {
+            this.indicatorColor = indicatorColor;
+            return this;
+        }
+
+        public Builder setIndicatorRadius(int indicatorRadius) {
+            this.indicatorRadius = indicatorRadius;
+            return this;
+        }
+
+        public Builder setTextEnabled(boolean textEnabled) {
+            this.textEnabled = textEnabled;
+            return this;
+        }
+
+        public Builder setTextSize(float textSize) {
+            this.textSize = textSize;
+            return this;
+        }
+
+        public Builder setTextColor(int textColor) {
+            this.textColor = textColor;
+            return this;
+        }
+
+        public Builder setTextDecimalPlaces(int textDecimalPlaces) {
+            this.textDecimalPlaces = textDecimalPlaces;
+            return this;
+        }
+
+        public Builder setTextTypeFace(Typeface textTypeFace) {
+            this.textTypeFace = textTypeFace != null ? textTypeFace : Typeface.DEFAULT;
+            return this;
+        }
+
+        public Builder setSuffixEnabled(boolean suffixEnabled) {
+            this.suffixEnabled = suffixEnabled;
+            return this;
+        }
+
+        public Builder setSuffixValue(String suffixValue) {
+            this.suffixValue = suffixValue != null ? suffixValue : "";
+            return this;
+        }
+
+        public Builder setClockwise(boolean clockwise) {
+            this.clockwise = clockwise;
+            return this;
+        }
+
+        public Builder setEnabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public CircleViewStyle build() {
+            return new CircleViewStyle(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+package rjsv.circularview;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import rjsv.circularview.utils.ValueTextBuffer;
+
+/**
+ * Lays out and draws the value text of a {@link CircleView} and its optional suffix.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+final class CircleViewTextRenderer {
+
+    private final Paint valuePaint;
+    private final Paint suffixPaint;
+    private final ValueTextBuffer valueBuffer = new ValueTextBuffer();
+    private final Rect valueBounds = new Rect();
+    private final Rect suffixBounds = new Rect();
+    private final Rect drawBounds = new Rect();
+
+    private boolean suffixEnabled = false;
+    private String suffix = "";
+    // suffix held by suffixBounds, null if it must be measured again
+    private String measuredSuffix;
+    private float baselineOffset = Float.NaN;
+    private int valueX;
+    private int suffixX;
+    private int baselineY;
+    // accessibility text, built on demand from the formatted value
+    private String text;
+
+    CircleViewTextRenderer(Paint valuePaint, Paint suffixPaint) {
+        this.valuePaint = valuePaint;
+        this.suffixPaint = suffixPaint;
+    }
+
+    void setSuffix(boolean suffixEnabled, String suffix) {
+        this.suffixEnabled = suffixEnabled;
+        this.suffix = suffix != null ? suffix : "";
+        invalidateLayout();
+    }
+
+    /**
+     * To be called after the size or typeface of any of the paints changed.
+     */
+    void invalidateMetrics() {
+        baselineOffset = Float.NaN;
+        measuredSuffix = null;
+        invalidateLayout();
+    }
+
+    /**
+     * To be called after the view's geometry or orientation changed.
+     */
+    void invalidateLayout() {
+        valueBuffer.reset();
+        text = null;
+    }
+
+    /**
+     * Formats the value and lays out the text if the formatted value, or anything it depends on, changed.
+     *
+     * @param units    the value as a fixed point long, in units of 10^-scale
+     * @param mirrored whether the canvas is mirrored around the arc's center, as done for counter-clockwise views
+     * @return true if the text or its bounds changed
+     */
+    boolean update(long units, int scale, int width, RectF arcRect, boolean mirrored) {
+        if (!valueBuffer.format(units, scale)) {
+            return false;
+        }
+        text = null;
+        valuePaint.getTextBounds(valueBuffer.getBuffer(), valueBuffer.getStart(), valueBuffer.getLength(), valueBounds);
+        if (Float.isNaN(baselineOffset)) {
+            baselineOffset = -(valuePaint.descent() + valuePaint.ascent()) / 2;
+        }
+        // center the text
+        valueX = width / 2 - valueBounds.width() / 2;
+        baselineY = (int) (arcRect.centerY() + baselineOffset);
+        drawBounds.set(valueBounds);
+        drawBounds.offset(valueX, baselineY);
+        if (suffixEnabled) {
+            if (!suffix.equals(measuredSuffix)) {
+                suffixPaint.getTextBounds(suffix, 0, suffix.length(), suffixBounds);
+                measuredSuffix = suffix;
+            }
+            suffixX = (int) (valueX + valueBounds.width() * 1.5);
+            drawBounds.union(suffixX + suffixBounds.left, baselineY + suffixBounds.top,
+                    suffixX + suffixBounds.right, baselineY + suffixBounds.bottom);
+        }
+        if (mirrored) {
+            int mirrorAxis = (int) (2 * arcRect.centerX());
+            drawBounds.set(mirrorAxis - drawBounds.right, drawBounds.top, mirrorAxis - drawBounds.left, drawBounds.bottom);
+        }
+        drawBounds.inset(-1, -1);
+        return true;
+    }
+
+    void draw(Canvas canvas) {
+        canvas.drawText(valueBuffer.getBuffer(), valueBuffer.getStart(), valueBuffer.getLength(), valueX, baselineY, valuePaint);
+        if (suffixEnabled) {
+            canvas.drawText(suffix, suffixX, baselineY, suffixPaint);
+        }
+    }
+
+    /**
+     * @return the area covered by the text on the last {@link #update}, in view coordinates
+     */
+    Rect getDrawBounds() {
+        return drawBounds;
+    }
+
+    /**
+     * @return the text laid out on the last {@link #update}, suffix included
+     */
+    String getText() {
+        if (text == null) {
+            text = new String(valueBuffer.getBuffer(), valueBuffer.getStart(), valueBuffer.getLength());
+            if (suffixEnabled && suffix.length() > 0) {
+                text = text + " " + suffix;
+            }
+        }
+        return text;
+    }
+
+}
@@ -0,0 +1,15 @@
+package rjsv.circularview.enumerators;
+
+/**
+ * Which value is displayed when several values were posted to a {@link rjsv.circularview.CircleView} within a frame.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public enum AggregationMode {
+    LATEST,
+    MINIMUM,
+    MAXIMUM,
+    AVERAGE
+}
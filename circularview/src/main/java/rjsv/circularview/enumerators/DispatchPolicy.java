@@ -0,0 +1,27 @@
+package rjsv.circularview.enumerators;
+
+/**
+ * Policies for delivering {@link rjsv.circularview.CircleViewChangeListener#onPointsChanged} callbacks.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public enum DispatchPolicy {
+    /**
+     * Every change is delivered synchronously
+     */
+    IMMEDIATE,
+    /**
+     * At most one change, the latest, is delivered per frame
+     */
+    FRAME_COALESCED,
+    /**
+     * At most one change is delivered per interval, the latest one being delivered when the interval elapses
+     */
+    THROTTLED,
+    /**
+     * The latest change is delivered once no other change happened for the interval, or when the tracking stops
+     */
+    DEBOUNCED
+}
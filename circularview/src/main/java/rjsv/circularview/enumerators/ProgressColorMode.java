@@ -0,0 +1,23 @@
+package rjsv.circularview.enumerators;
+
+/**
+ * How the progress arc of a {@link rjsv.circularview.CircleView} is coloured.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public enum ProgressColorMode {
+    /**
+     * A single colour, the progress colour
+     */
+    SOLID,
+    /**
+     * The colour stops are laid along the arc as a sweep gradient, from the minimum to the maximum value
+     */
+    SWEEP_GRADIENT,
+    /**
+     * The whole arc takes the colour of the stops at the current value, read from a precomputed lookup table
+     */
+    VALUE_LOOKUP
+}
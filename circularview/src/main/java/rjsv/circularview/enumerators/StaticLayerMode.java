@@ -0,0 +1,26 @@
+package rjsv.circularview.enumerators;
+
+/**
+ * How the {@link rjsv.circularview.CircleView} caches the arc track and its border. The progress is never cached.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public enum StaticLayerMode {
+    /**
+     * Nothing is cached, every frame issues all the draw calls
+     */
+    NONE,
+    /**
+     * The static geometry is rendered once into a bitmap that is blitted on every frame
+     */
+    BITMAP,
+    /**
+     * The static geometry is recorded once into a display list (Picture) that is replayed on every frame. Only the
+     * track is recorded, the progress arc and the indicator are drawn on every frame. Hardware accelerated canvases
+     * replay the recorded operations on every frame too, so this mostly saves issuing them. Falls back to drawing
+     * directly on hardware accelerated canvases below Marshmallow, which cannot replay pictures
+     */
+    DISPLAY_LIST
+}
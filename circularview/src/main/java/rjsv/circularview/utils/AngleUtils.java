@@ -0,0 +1,88 @@
+package rjsv.circularview.utils;
+
+/**
+ * Android free angle conversions used by the {@link rjsv.circularview.CircleView} touch handling.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public final class AngleUtils {
+
+    private static final float PI = (float) Math.PI;
+    private static final float HALF_PI = PI / 2;
+    private static final float QUARTER_PI = PI / 4;
+    private static final float DEGREES_PER_RADIAN = (float) (180 / Math.PI);
+
+    private AngleUtils() {
+    }
+
+    /**
+     * Converts a point, relative to the circle's center, into a progress angle in [0, 360[ where 0 is at 0h.
+     */
+    public static float pointToAngle(float x, float y, boolean clockwise) {
+        x = clockwise ? x : -x;
+        float angle = (float) Math.toDegrees(Math.atan2(y, x) + (Math.PI / 2));
+        return (angle < 0) ? (angle + 360) : angle;
+    }
+
+    /**
+     * Same as {@link #pointToAngle(float, float, boolean)}, using {@link #fastAtan2(float, float)}.
+     */
+    public static float fastPointToAngle(float x, float y, boolean clockwise) {
+        x = clockwise ? x : -x;
+        float angle = (fastAtan2(y, x) + HALF_PI) * DEGREES_PER_RADIAN;
+        return (angle < 0) ? (angle + 360) : angle;
+    }
+
+    /**
+     * Float approximation of {@link Math#atan2(double, double)}, reducing the argument to [0, 1] and using a cubic
+     * polynomial. The maximum absolute error is below 0.0016 rad (about 0.09 degrees).
+     */
+    public static float fastAtan2(float y, float x) {
+        float absX = Math.abs(x);
+        float absY = Math.abs(y);
+        if (absX == 0 && absY == 0) {
+            return 0;
+        }
+        float z = absX >= absY ? absY / absX : absX / absY;
+        float angle = QUARTER_PI * z - z * (z - 1) * (0.2447f + 0.0663f * z);
+        if (absY > absX) {
+            angle = HALF_PI - angle;
+        }
+        if (x < 0) {
+            angle = PI - angle;
+        }
+        return y < 0 ? -angle : angle;
+    }
+
+    /**
+     * Prevents the progress from wrapping around when moving between the first and last quadrants.
+     */
+    public static float getValueForQuadrantCrossing(float oldProgress, float newProgress) {
+        float result = newProgress;
+        int oldProgressQuadrant = getProgressQuadrant(oldProgress);
+        int newProgressQuadrant = getProgressQuadrant(newProgress);
+        if (oldProgressQuadrant == 4 && (newProgressQuadrant != 4 && newProgressQuadrant != 3)) {
+            result = 360.0f;
+        } else if (oldProgressQuadrant == 1 && (newProgressQuadrant != 2 && newProgressQuadrant != 1)) {
+            result = 0.0f;
+        }
+        return result;
+    }
+
+    public static int getProgressQuadrant(float progress) {
+        int quadrant;
+        if (progress >= 0 && progress <= 90.0f) {
+            quadrant = 1;
+        } else if (progress <= 180) {
+            quadrant = 2;
+        } else if (progress <= 270) {
+            quadrant = 3;
+        } else {
+            quadrant = 4;
+        }
+        return quadrant;
+    }
+
+}
@@ -0,0 +1,102 @@
+package rjsv.circularview.utils;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link FrameClock} backed by the Choreographer, or by a main thread Handler below Jelly Bean.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class ChoreographerFrameClock implements FrameClock {
+
+    private static final long FALLBACK_FRAME_DELAY = 16;
+    private static ChoreographerFrameClock instance;
+
+    private final Map<FrameCallback, Object> wrappers = new HashMap<>();
+    private Handler fallbackHandler;
+
+    private ChoreographerFrameClock() {
+    }
+
+    /**
+     * Must be called from the main thread.
+     */
+    public static ChoreographerFrameClock getInstance() {
+        if (instance == null) {
+            instance = new ChoreographerFrameClock();
+        }
+        return instance;
+    }
+
+    @Override
+    public void postFrameCallback(FrameCallback callback) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            Choreographer.getInstance().postFrameCallback(getChoreographerCallback(callback));
+        } else {
+            getFallbackHandler().postDelayed(getRunnable(callback), FALLBACK_FRAME_DELAY);
+        }
+    }
+
+    /**
+     * Also releases the wrapper kept for the callback, so callers must remove themselves once they are done.
+     */
+    @Override
+    public void removeFrameCallback(FrameCallback callback) {
+        Object wrapper = wrappers.remove(callback);
+        if (wrapper == null) {
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            Choreographer.getInstance().removeFrameCallback((Choreographer.FrameCallback) wrapper);
+        } else {
+            getFallbackHandler().removeCallbacks((Runnable) wrapper);
+        }
+    }
+
+    // wrappers are kept per callback so that re-posting on every frame does not allocate
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private Choreographer.FrameCallback getChoreographerCallback(final FrameCallback callback) {
+        Choreographer.FrameCallback wrapper = (Choreographer.FrameCallback) wrappers.get(callback);
+        if (wrapper == null) {
+            wrapper = new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    callback.doFrame(frameTimeNanos);
+                }
+            };
+            wrappers.put(callback, wrapper);
+        }
+        return wrapper;
+    }
+
+    private Runnable getRunnable(final FrameCallback callback) {
+        Runnable wrapper = (Runnable) wrappers.get(callback);
+        if (wrapper == null) {
+            wrapper = new Runnable() {
+                @Override
+                public void run() {
+                    callback.doFrame(System.nanoTime());
+                }
+            };
+            wrappers.put(callback, wrapper);
+        }
+        return wrapper;
+    }
+
+    private Handler getFallbackHandler() {
+        if (fallbackHandler == null) {
+            fallbackHandler = new Handler(Looper.getMainLooper());
+        }
+        return fallbackHandler;
+    }
+
+}
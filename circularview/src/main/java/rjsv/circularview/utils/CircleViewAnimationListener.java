@@ -2,8 +2,7 @@ package rjsv.circularview.utils;
 
 import android.view.animation.Animation;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.ref.WeakReference;
 
 /**
  * Description
@@ -14,43 +13,107 @@ import java.util.List;
 
 public class CircleViewAnimationListener implements Animation.AnimationListener {
 
-    private List<Animation.AnimationListener> listeners;
+    private static final Object[] NO_LISTENERS = new Object[0];
+
+    // copy on write array of listeners or weak references to listeners, never modified in place so that dispatching
+    // needs no iterator and listeners can unregister themselves while being notified
+    private volatile Object[] listeners;
 
     public CircleViewAnimationListener() {
-        this.listeners = new ArrayList<>();
+        this.listeners = NO_LISTENERS;
     }
 
     public void registerAnimationListener(Animation.AnimationListener listener) {
+        registerAnimationListener(listener, false);
+    }
+
+    /**
+     * @param weakReference if true, the listener is only weakly referenced and is dropped once garbage collected
+     */
+    public synchronized void registerAnimationListener(Animation.AnimationListener listener, boolean weakReference) {
         if (listener != null) {
-            this.listeners.add(listener);
+            Object[] current = withoutListener(listeners, null);
+            Object[] updated = new Object[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = weakReference ? new WeakReference<>(listener) : listener;
+            this.listeners = updated;
         } else {
             this.unregisterAnimationListeners();
         }
     }
 
-    public void unregisterAnimationListeners() {
-        this.listeners.clear();
+    public synchronized void unregisterAnimationListener(Animation.AnimationListener listener) {
+        if (listener != null) {
+            this.listeners = withoutListener(listeners, listener);
+        }
+    }
+
+    public synchronized void unregisterAnimationListeners() {
+        this.listeners = NO_LISTENERS;
     }
 
     @Override
     public void onAnimationStart(Animation animation) {
-        for (Animation.AnimationListener listener : listeners) {
-            listener.onAnimationStart(animation);
+        Object[] snapshot = listeners;
+        for (int i = 0; i < snapshot.length; i++) {
+            Animation.AnimationListener listener = resolve(snapshot[i]);
+            if (listener != null) {
+                listener.onAnimationStart(animation);
+            }
         }
     }
 
     @Override
     public void onAnimationEnd(Animation animation) {
-        for (Animation.AnimationListener listener : listeners) {
-            listener.onAnimationEnd(animation);
+        Object[] snapshot = listeners;
+        for (int i = 0; i < snapshot.length; i++) {
+            Animation.AnimationListener listener = resolve(snapshot[i]);
+            if (listener != null) {
+                listener.onAnimationEnd(animation);
+            }
         }
     }
 
     @Override
     public void onAnimationRepeat(Animation animation) {
-        for (Animation.AnimationListener listener : listeners) {
-            listener.onAnimationRepeat(animation);
+        Object[] snapshot = listeners;
+        for (int i = 0; i < snapshot.length; i++) {
+            Animation.AnimationListener listener = resolve(snapshot[i]);
+            if (listener != null) {
+                listener.onAnimationRepeat(animation);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Animation.AnimationListener resolve(Object entry) {
+        if (entry instanceof WeakReference) {
+            return ((WeakReference<Animation.AnimationListener>) entry).get();
+        }
+        return (Animation.AnimationListener) entry;
+    }
+
+    /**
+     * @return a copy of the entries without the given listener nor the garbage collected ones
+     */
+    private static Object[] withoutListener(Object[] entries, Animation.AnimationListener listener) {
+        int kept = 0;
+        Object[] result = new Object[entries.length];
+        for (Object entry : entries) {
+            Animation.AnimationListener resolved = resolve(entry);
+            if (resolved != null && resolved != listener) {
+                result[kept++] = entry;
+            }
+        }
+        if (kept == 0) {
+            return NO_LISTENERS;
+        }
+        if (kept < result.length) {
+            Object[] trimmed = new Object[kept];
+            System.arraycopy(result, 0, trimmed, 0, kept);
+            return trimmed;
         }
+        return result;
     }
 
 }
@@ -0,0 +1,90 @@
+package rjsv.circularview.utils;
+
+import android.graphics.Color;
+
+/**
+ * Colour stops over the [0, 1] range, with a lookup table of their interpolated colours.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class ColorRamp {
+
+    public static final int LOOKUP_SIZE = 256;
+
+    private final int[] colors;
+    private final float[] positions;
+    private final int[] lookup = new int[LOOKUP_SIZE];
+
+    /**
+     * @param positions ascending positions of each colour within [0, 1], or null to spread the colours evenly
+     */
+    public ColorRamp(int[] colors, float[] positions) {
+        if (colors == null || colors.length < 2) {
+            throw new IllegalArgumentException("At least two colours are needed");
+        }
+        if (positions != null && positions.length != colors.length) {
+            throw new IllegalArgumentException("There must be one position per colour");
+        }
+        this.colors = colors.clone();
+        this.positions = new float[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            float position = positions != null ? positions[i] : (float) i / (colors.length - 1);
+            position = Math.max(0, Math.min(1, position));
+            if (i > 0 && position < this.positions[i - 1]) {
+                throw new IllegalArgumentException("Positions must be ascending");
+            }
+            this.positions[i] = position;
+        }
+        buildLookup();
+    }
+
+    public int getColor(float fraction) {
+        if (!(fraction > 0)) {
+            return lookup[0];
+        }
+        if (fraction >= 1) {
+            return lookup[LOOKUP_SIZE - 1];
+        }
+        return lookup[(int) (fraction * (LOOKUP_SIZE - 1) + 0.5f)];
+    }
+
+    public int[] getColors() {
+        return colors.clone();
+    }
+
+    /**
+     * @return the positions remapped to [start, end], e.g. to lay the stops along a part of a sweep gradient
+     */
+    public float[] getPositions(float start, float end) {
+        float[] mapped = new float[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            mapped[i] = start + positions[i] * (end - start);
+        }
+        return mapped;
+    }
+
+    private void buildLookup() {
+        int stop = 0;
+        for (int i = 0; i < LOOKUP_SIZE; i++) {
+            float fraction = (float) i / (LOOKUP_SIZE - 1);
+            while (stop < positions.length - 2 && fraction > positions[stop + 1]) {
+                stop++;
+            }
+            float from = positions[stop];
+            float to = positions[stop + 1];
+            float t = to > from ? (fraction - from) / (to - from) : 1;
+            lookup[i] = interpolate(colors[stop], colors[stop + 1], Math.max(0, Math.min(1, t)));
+        }
+    }
+
+    private static int interpolate(int from, int to, float t) {
+        return Color.argb(
+                Math.round(Color.alpha(from) + (Color.alpha(to) - Color.alpha(from)) * t),
+                Math.round(Color.red(from) + (Color.red(to) - Color.red(from)) * t),
+                Math.round(Color.green(from) + (Color.green(to) - Color.green(from)) * t),
+                Math.round(Color.blue(from) + (Color.blue(to) - Color.blue(from)) * t));
+    }
+
+}
@@ -0,0 +1,25 @@
+package rjsv.circularview.utils;
+
+/**
+ * Source of display frames. Abstracts the Choreographer so that frame driven code can run against a fake clock.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public interface FrameClock {
+
+    /**
+     * Schedules the callback to run once, on the next frame.
+     */
+    void postFrameCallback(FrameCallback callback);
+
+    void removeFrameCallback(FrameCallback callback);
+
+    interface FrameCallback {
+
+        void doFrame(long frameTimeNanos);
+
+    }
+
+}
@@ -2,9 +2,11 @@ package rjsv.circularview.utils;
 
 import android.content.Context;
 import android.content.res.AssetManager;
+import android.graphics.RectF;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.RoundingMode;
 
 /**
  * Description
@@ -20,18 +22,56 @@ public class GeneralUtils {
         if (places < 0) {
             return value;
         }
-        long factor = (long) Math.pow(10, places);
-        value = value * factor;
-        long tmp = Math.round(value);
-        return (double) tmp / factor;
+        return ValueQuantizer.round(value, Math.min(places, ValueQuantizer.MAXIMUM_SCALE), RoundingMode.HALF_UP);
     }
 
     public static float round(float number, int scale) {
-        int pow = 10;
-        for (int i = 1; i < scale; i++)
-            pow *= 10;
-        float tmp = number * pow;
-        return (float) (int) ((tmp - (int) tmp) >= 0.5f ? tmp + 1 : tmp) / pow;
+        if (scale < 0) {
+            return number;
+        }
+        return ValueQuantizer.round(number, Math.min(scale, ValueQuantizer.MAXIMUM_SCALE), RoundingMode.HALF_UP);
+    }
+
+    // Geometrical
+
+    /**
+     * Unions into {@code out} the bounding box of the arc described by the oval and angles (in degrees, same
+     * convention as {@link android.graphics.Canvas#drawArc}), expanded by {@code padding} on every side.
+     */
+    public static void unionArcBounds(RectF oval, float startAngle, float sweepAngle, float padding, RectF out) {
+        float centerX = oval.centerX();
+        float centerY = oval.centerY();
+        float radiusX = oval.width() / 2;
+        float radiusY = oval.height() / 2;
+        float endAngle = startAngle + sweepAngle;
+        double startRadians = Math.toRadians(startAngle);
+        double endRadians = Math.toRadians(endAngle);
+        float startX = centerX + (float) (radiusX * Math.cos(startRadians));
+        float startY = centerY + (float) (radiusY * Math.sin(startRadians));
+        float endX = centerX + (float) (radiusX * Math.cos(endRadians));
+        float endY = centerY + (float) (radiusY * Math.sin(endRadians));
+        float left = Math.min(startX, endX);
+        float top = Math.min(startY, endY);
+        float right = Math.max(startX, endX);
+        float bottom = Math.max(startY, endY);
+        // the arc reaches the oval's extremes whenever it crosses one of the axes
+        for (float axis = (float) Math.ceil(startAngle / 90f) * 90f; axis < endAngle; axis += 90f) {
+            switch ((((int) axis / 90) % 4 + 4) % 4) {
+                case 0:
+                    right = oval.right;
+                    break;
+                case 1:
+                    bottom = oval.bottom;
+                    break;
+                case 2:
+                    left = oval.left;
+                    break;
+                default:
+                    top = oval.top;
+                    break;
+            }
+        }
+        out.union(left - padding, top - padding, right + padding, bottom + padding);
     }
 
     public static boolean fileExistsInAssets(Context context, String pathInAssets) {
@@ -0,0 +1,126 @@
+package rjsv.circularview.utils;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * {@link FrameClock} multiplexing every registered callback onto a single callback of an underlying clock.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class SharedFrameClock implements FrameClock, FrameClock.FrameCallback {
+
+    private static SharedFrameClock instance;
+
+    private final FrameClock source;
+    // two frames are swapped on every frame so that callbacks can post themselves again without allocating
+    private Frame pendingFrame = new Frame();
+    private Frame dispatchingFrame = new Frame();
+    private boolean isScheduled = false;
+
+    public SharedFrameClock(FrameClock source) {
+        this.source = source;
+    }
+
+    /**
+     * Must be called from the main thread.
+     */
+    public static SharedFrameClock getInstance() {
+        if (instance == null) {
+            instance = new SharedFrameClock(ChoreographerFrameClock.getInstance());
+        }
+        return instance;
+    }
+
+    @Override
+    public void postFrameCallback(FrameCallback callback) {
+        if (callback == null || !pendingFrame.add(callback)) {
+            return;
+        }
+        if (!isScheduled) {
+            isScheduled = true;
+            source.postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void removeFrameCallback(FrameCallback callback) {
+        // skips it if it did not run yet on the current frame
+        dispatchingFrame.remove(callback);
+        if (pendingFrame.remove(callback) && pendingFrame.activeCount == 0 && isScheduled) {
+            isScheduled = false;
+            source.removeFrameCallback(this);
+            pendingFrame.clear();
+        }
+    }
+
+    /**
+     * @return how many callbacks are waiting for the next frame
+     */
+    public int getPendingCallbackCount() {
+        return pendingFrame.activeCount;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        isScheduled = false;
+        Frame frame = pendingFrame;
+        pendingFrame = dispatchingFrame;
+        dispatchingFrame = frame;
+        for (int i = 0; i < frame.callbacks.size(); i++) {
+            FrameCallback callback = frame.callbacks.get(i);
+            if (frame.remove(callback)) {
+                callback.doFrame(frameTimeNanos);
+            }
+        }
+        frame.clear();
+    }
+
+    /**
+     * Callbacks of a frame, in posting order, with a constant time membership. Removed callbacks stay in the list,
+     * marked inactive, until the frame is cleared, so that posting them again does not duplicate them.
+     */
+    private static final class Frame {
+
+        private final ArrayList<FrameCallback> callbacks = new ArrayList<>();
+        // whether each listed callback is still to be run
+        private final IdentityHashMap<FrameCallback, Boolean> isActive = new IdentityHashMap<>();
+        private int activeCount;
+
+        /**
+         * @return false if the callback was already to be run
+         */
+        private boolean add(FrameCallback callback) {
+            Boolean wasActive = isActive.put(callback, Boolean.TRUE);
+            if (wasActive == null) {
+                callbacks.add(callback);
+            } else if (wasActive) {
+                return false;
+            }
+            activeCount++;
+            return true;
+        }
+
+        /**
+         * @return true if the callback was still to be run
+         */
+        private boolean remove(FrameCallback callback) {
+            if (isActive.get(callback) != Boolean.TRUE) {
+                return false;
+            }
+            isActive.put(callback, Boolean.FALSE);
+            activeCount--;
+            return true;
+        }
+
+        private void clear() {
+            callbacks.clear();
+            isActive.clear();
+            activeCount = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package rjsv.circularview.utils;
+
+/**
+ * Sine and cosine lookup table over a full circle, linearly interpolated between entries.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class TrigTable {
+
+    private static final int MINIMUM_SIZE = 720;
+    private static final int MAXIMUM_SIZE = 8192;
+
+    private final float[] sines;
+    private final float entriesPerDegree;
+    private final int size;
+
+    public TrigTable(int size) {
+        this.size = Math.max(4, size);
+        this.entriesPerDegree = this.size / 360f;
+        // one extra entry so that interpolation never needs to wrap
+        this.sines = new float[this.size + 1];
+        for (int i = 0; i <= this.size; i++) {
+            sines[i] = (float) Math.sin(2 * Math.PI * i / this.size);
+        }
+    }
+
+    /**
+     * Sizes a table so that every multiple of the given resolution falls exactly on an entry, for sines and cosines
+     * alike, keeping at least {@value #MINIMUM_SIZE} entries for the angles in between.
+     *
+     * @param resolutionInDegrees the step resolution, or 0 if there is none
+     */
+    public static int sizeForResolution(float resolutionInDegrees) {
+        if (resolutionInDegrees <= 0 || resolutionInDegrees > 360) {
+            return MINIMUM_SIZE;
+        }
+        int steps = Math.round(360f / resolutionInDegrees);
+        if (steps <= 0 || steps >= MAXIMUM_SIZE || Math.abs(steps * resolutionInDegrees - 360f) > 1e-3f) {
+            // the step does not divide the circle evenly, fall back to a fine grained table
+            return MAXIMUM_SIZE;
+        }
+        // cosines are read a quarter turn further, which must fall on an entry as well
+        int entries = steps % 4 == 0 ? steps : steps % 2 == 0 ? steps * 2 : steps * 4;
+        if (entries >= MAXIMUM_SIZE) {
+            return MAXIMUM_SIZE;
+        }
+        int multiplier = (MINIMUM_SIZE + entries - 1) / entries;
+        return Math.min(entries * multiplier, MAXIMUM_SIZE);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float sin(float degrees) {
+        float position = degrees * entriesPerDegree;
+        float floor = (float) Math.floor(position);
+        int index = (int) floor % size;
+        if (index < 0) {
+            index += size;
+        }
+        float fraction = position - floor;
+        return sines[index] + (sines[index + 1] - sines[index]) * fraction;
+    }
+
+    public float cos(float degrees) {
+        return sin(degrees + 90);
+    }
+
+}
@@ -0,0 +1,130 @@
+package rjsv.circularview.utils;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.Typeface;
+import android.os.AsyncTask;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide, bounded and thread safe cache of the Typefaces loaded from the assets.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public final class TypefaceCache {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 16;
+    // marks an asset path that could not be loaded
+    private static final Object MISSING = new Object();
+
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    // missing assets are cached as well, so that they are not looked up again
+    private static final Map<String, Object> cache = new LruMap();
+
+    private TypefaceCache() {
+    }
+
+    /**
+     * @return the Typeface stored at the given asset path, or null if it does not exist
+     */
+    public static Typeface get(Context context, String assetPath) {
+        if (context == null || assetPath == null) {
+            return null;
+        }
+        Object cached;
+        synchronized (cache) {
+            cached = cache.get(assetPath);
+        }
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return cached == MISSING ? null : (Typeface) cached;
+        }
+        missCount.incrementAndGet();
+        // loaded outside of the lock, a concurrent load of the same path simply keeps the first result
+        Object loaded = load(context.getResources().getAssets(), assetPath);
+        synchronized (cache) {
+            cached = cache.get(assetPath);
+            if (cached == null) {
+                cache.put(assetPath, loaded);
+                cached = loaded;
+            }
+        }
+        return cached == MISSING ? null : (Typeface) cached;
+    }
+
+    /**
+     * Loads the given asset paths on a background thread so that later lookups are hits.
+     */
+    public static void prewarm(Context context, final String... assetPaths) {
+        if (context == null || assetPaths == null) {
+            return;
+        }
+        final Context applicationContext = context.getApplicationContext();
+        AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (String assetPath : assetPaths) {
+                    get(applicationContext, assetPath);
+                }
+            }
+        });
+    }
+
+    public static void setMaximumSize(int size) {
+        synchronized (cache) {
+            maximumSize = Math.max(1, size);
+            while (cache.size() > maximumSize) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+    }
+
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    private static Object load(AssetManager assetManager, String assetPath) {
+        try {
+            // a single asset read, createFromAsset fails if the file does not exist
+            Typeface typeface = Typeface.createFromAsset(assetManager, assetPath);
+            return typeface != null ? typeface : MISSING;
+        } catch (RuntimeException e) {
+            return MISSING;
+        }
+    }
+
+    private static final class LruMap extends LinkedHashMap<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private LruMap() {
+            super(DEFAULT_MAXIMUM_SIZE, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > maximumSize;
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+package rjsv.circularview.utils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import rjsv.circularview.enumerators.AggregationMode;
+
+/**
+ * Lock-free slot aggregating the values published from any thread until the UI thread consumes them.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class ValueMailbox {
+
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+    private final AtomicReference<Batch> currentBatch = new AtomicReference<>(new Batch());
+    // batch not accepting values, only accessed by the reader
+    private Batch spareBatch = new Batch();
+    // batch swapped out while a writer was still adding its value, taken by a later consumption, only accessed by the reader
+    private Batch drainingBatch;
+    // batches still to be discarded by a clear that could not take them at once, only accessed by the reader
+    private int discardedBatches;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    // last consumed batch, only accessed by the reader
+    private float latest;
+    private float minimum;
+    private float maximum;
+    private float average;
+
+    /**
+     * Publishes a value from any thread. Values are aggregated into one of two preallocated batches, so nothing is
+     * allocated per value.
+     *
+     * @return true if the mailbox was empty, in which case the caller must schedule a {@link #consume()}
+     */
+    public boolean publish(float value) {
+        Batch batch = enter();
+        batch.add(value);
+        return leave(batch);
+    }
+
+    Batch enter() {
+        while (true) {
+            Batch batch = currentBatch.get();
+            batch.writers.incrementAndGet();
+            if (currentBatch.get() == batch) {
+                return batch;
+            }
+            // swapped out by the reader in the meantime
+            batch.writers.decrementAndGet();
+        }
+    }
+
+    boolean leave(Batch batch) {
+        batch.writers.decrementAndGet();
+        publishedCount.incrementAndGet();
+        return pending.compareAndSet(false, true);
+    }
+
+    /**
+     * Must be called from the consuming thread, which must schedule another {@link #consume()} while it returns true.
+     *
+     * @return true if values were published and not yet consumed
+     */
+    public boolean isPending() {
+        return pending.get() || drainingBatch != null;
+    }
+
+    /**
+     * Takes the values published since the last call, without ever waiting for the writers. A batch that a writer is
+     * still adding its value to is left for a later call, see {@link #isPending()}. Must always be called from the
+     * same thread.
+     *
+     * @return false if nothing complete was published in the meantime
+     */
+    public boolean consume() {
+        Batch batch = takeBatch();
+        while (batch != null && discardedBatches > 0) {
+            discardedBatches--;
+            batch.clear();
+            batch = takeBatch();
+        }
+        if (batch == null) {
+            return false;
+        }
+        int size = batch.size.get();
+        if (size == 0) {
+            // already taken along with the previous batch
+            return false;
+        }
+        latest = Float.intBitsToFloat(batch.latestBits.get());
+        minimum = Float.intBitsToFloat(batch.minimumBits.get());
+        maximum = Float.intBitsToFloat(batch.maximumBits.get());
+        average = (float) (Double.longBitsToDouble(batch.sumBits.get()) / size);
+        batch.clear();
+        if (size > 1) {
+            droppedCount.addAndGet(size - 1);
+            coalescedCount.incrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Discards the values published and not yet consumed. If a writer is still adding its value, the batches are
+     * discarded by the following consumptions instead, along with any value published concurrently with this call.
+     * Must be called from the consuming thread.
+     */
+    public void clear() {
+        Batch batch = takeBatch();
+        if (batch != null) {
+            batch.clear();
+        } else if (drainingBatch != null) {
+            // the draining batch and the values published to the current one in the meantime
+            discardedBatches = pending.get() ? 2 : 1;
+        }
+    }
+
+    private Batch takeBatch() {
+        if (drainingBatch == null) {
+            if (!pending.getAndSet(false)) {
+                return null;
+            }
+            drainingBatch = currentBatch.getAndSet(spareBatch);
+        }
+        if (drainingBatch.writers.get() > 0) {
+            // a writer is adding its value, the batch is taken on a later call instead of waiting for it
+            return null;
+        }
+        Batch batch = drainingBatch;
+        drainingBatch = null;
+        spareBatch = batch;
+        return batch;
+    }
+
+    public float getValue(AggregationMode mode) {
+        switch (mode) {
+            case MINIMUM:
+                return minimum;
+            case MAXIMUM:
+                return maximum;
+            case AVERAGE:
+                return average;
+            default:
+                return latest;
+        }
+    }
+
+    public float getLatest() {
+        return latest;
+    }
+
+    public float getMinimum() {
+        return minimum;
+    }
+
+    public float getMaximum() {
+        return maximum;
+    }
+
+    public float getAverage() {
+        return average;
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * @return how many published values were overwritten before being consumed
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return how many consumptions merged more than one published value
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public void resetCounters() {
+        publishedCount.set(0);
+        droppedCount.set(0);
+        coalescedCount.set(0);
+    }
+
+    static final class Batch {
+
+        private final AtomicInteger writers = new AtomicInteger();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger latestBits = new AtomicInteger();
+        private final AtomicInteger minimumBits = new AtomicInteger(Float.floatToIntBits(Float.POSITIVE_INFINITY));
+        private final AtomicInteger maximumBits = new AtomicInteger(Float.floatToIntBits(Float.NEGATIVE_INFINITY));
+        private final AtomicLong sumBits = new AtomicLong(Double.doubleToLongBits(0));
+
+        void add(float value) {
+            int bits = Float.floatToIntBits(value);
+            int current;
+            do {
+                current = minimumBits.get();
+            } while (value < Float.intBitsToFloat(current) && !minimumBits.compareAndSet(current, bits));
+            do {
+                current = maximumBits.get();
+            } while (value > Float.intBitsToFloat(current) && !maximumBits.compareAndSet(current, bits));
+            long currentSum;
+            do {
+                currentSum = sumBits.get();
+            } while (!sumBits.compareAndSet(currentSum, Double.doubleToLongBits(Double.longBitsToDouble(currentSum) + value)));
+            latestBits.set(bits);
+            size.incrementAndGet();
+        }
+
+        private void clear() {
+            size.set(0);
+            minimumBits.set(Float.floatToIntBits(Float.POSITIVE_INFINITY));
+            maximumBits.set(Float.floatToIntBits(Float.NEGATIVE_INFINITY));
+            sumBits.set(Double.doubleToLongBits(0));
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+package rjsv.circularview.utils;
+
+import java.math.RoundingMode;
+
+/**
+ * Rounds values to a fixed amount of decimal places, as their shortest decimal representation would be.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class ValueQuantizer {
+
+    public static final int MAXIMUM_SCALE = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAXIMUM_SCALE + 1];
+    // values beyond 2^53 have no fractional part left in a double
+    private static final double EXACT_INTEGER_LIMIT = 9007199254740992d;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAXIMUM_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final int scale;
+    private final RoundingMode roundingMode;
+
+    public ValueQuantizer(int scale, RoundingMode roundingMode) {
+        checkArguments(scale, roundingMode);
+        this.scale = scale;
+        this.roundingMode = roundingMode;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    public float quantize(float value) {
+        return round(value, scale, roundingMode);
+    }
+
+    /**
+     * @return the value as a fixed point long, in units of 10^-scale
+     */
+    public long toUnits(float value) {
+        return roundToUnits(value, true, scale, roundingMode);
+    }
+
+    public long toUnits(double value) {
+        return roundToUnits(value, false, scale, roundingMode);
+    }
+
+    public float fromUnits(long units) {
+        return (float) ((double) units / POWERS_OF_TEN[scale]);
+    }
+
+    // Static helpers
+    public static float round(float value, int scale, RoundingMode roundingMode) {
+        checkArguments(scale, roundingMode);
+        if (Float.isNaN(value) || Float.isInfinite(value) || Math.abs((double) value) * POWERS_OF_TEN[scale] >= EXACT_INTEGER_LIMIT) {
+            return value;
+        }
+        return (float) ((double) roundToUnits(value, true, scale, roundingMode) / POWERS_OF_TEN[scale]);
+    }
+
+    public static double round(double value, int scale, RoundingMode roundingMode) {
+        checkArguments(scale, roundingMode);
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) * POWERS_OF_TEN[scale] >= EXACT_INTEGER_LIMIT) {
+            return value;
+        }
+        return (double) roundToUnits(value, false, scale, roundingMode) / POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * @return the value rounded to a fixed point long, in units of 10^-scale
+     */
+    public static long toUnits(float value, int scale, RoundingMode roundingMode) {
+        checkArguments(scale, roundingMode);
+        return roundToUnits(value, true, scale, roundingMode);
+    }
+
+    public static long powerOfTen(int scale) {
+        return POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * Only {@link RoundingMode#HALF_UP} (ties away from zero) and {@link RoundingMode#HALF_EVEN} (ties to the even
+     * neighbour) are supported. Values are rounded as their shortest decimal representation would be, e.g. 2.675f
+     * rounds half up to 2.68 even though its binary value is slightly below 2.675. Values whose shortest decimal
+     * representation has more digits than a double holds exactly, which only happens with doubles or tiny floats, are
+     * rounded from their binary value instead, within the precision of a double.
+     *
+     * @param isFloat whether the value originally was a float, which defines its representation error
+     */
+    private static long roundToUnits(double value, boolean isFloat, int scale, RoundingMode roundingMode) {
+        double absolute = Math.abs(value);
+        long factor = POWERS_OF_TEN[scale];
+        double scaledValue = absolute * factor;
+        if (scaledValue < EXACT_INTEGER_LIMIT) {
+            // the shortest decimal is within half an ulp of the value, so unless the scaled value is that close to a
+            // tie, plus the rounding error of the multiplication, both round to the same units
+            double floor = Math.floor(scaledValue);
+            double fraction = scaledValue - floor;
+            double ulp = isFloat ? Math.ulp((float) absolute) : Math.ulp(absolute);
+            if (Math.abs(fraction - 0.5) > ulp / 2 * factor + Math.ulp(scaledValue)) {
+                long units = fraction > 0.5 ? (long) floor + 1 : (long) floor;
+                return value < 0 ? -units : units;
+            }
+        }
+        // near a tie, look for the shortest decimal that converts back to the value, as long as its digits are exact in
+        // a double
+        for (int digits = 0; digits <= MAXIMUM_SCALE; digits++) {
+            double scaled = absolute * POWERS_OF_TEN[digits];
+            if (scaled >= EXACT_INTEGER_LIMIT) {
+                break;
+            }
+            double floor = Math.floor(scaled);
+            long decimal = (long) floor;
+            double fraction = scaled - floor;
+            if (fraction > 0.5 || (fraction == 0.5 && (RoundingMode.HALF_UP.equals(roundingMode) || (decimal & 1) == 1))) {
+                // a value exactly between two decimals is rounded according to the mode too
+                decimal++;
+            }
+            double decimalValue = (double) decimal / POWERS_OF_TEN[digits];
+            if (isFloat ? (float) decimalValue == (float) absolute : decimalValue == absolute) {
+                long units = digits <= scale
+                        ? scaleUp(decimal, scale - digits)
+                        : roundDecimal(decimal, digits - scale, roundingMode);
+                return value < 0 ? -units : units;
+            }
+        }
+        long units = roundScaled(absolute, isFloat, scale, roundingMode);
+        return value < 0 ? -units : units;
+    }
+
+    private static long scaleUp(long decimal, int places) {
+        long factor = POWERS_OF_TEN[places];
+        return decimal > Long.MAX_VALUE / factor ? Long.MAX_VALUE : decimal * factor;
+    }
+
+    /**
+     * Drops the last places of a positive decimal, rounding it exactly.
+     */
+    private static long roundDecimal(long decimal, int places, RoundingMode roundingMode) {
+        long divisor = POWERS_OF_TEN[places];
+        long units = decimal / divisor;
+        long remainder = decimal % divisor;
+        long half = divisor / 2;
+        if (remainder > half || (remainder == half && (RoundingMode.HALF_UP.equals(roundingMode) || (units & 1) == 1))) {
+            units++;
+        }
+        return units;
+    }
+
+    /**
+     * Rounds a positive value whose decimal representation has more digits than a double holds exactly.
+     */
+    private static long roundScaled(double absolute, boolean isFloat, int scale, RoundingMode roundingMode) {
+        long factor = POWERS_OF_TEN[scale];
+        if (absolute >= EXACT_INTEGER_LIMIT) {
+            // no fractional part left
+            return absolute >= Long.MAX_VALUE ? Long.MAX_VALUE : scaleUp((long) absolute, scale);
+        }
+        double scaled = absolute * factor;
+        if (scaled >= Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        double ulp = isFloat ? Math.ulp((float) absolute) : Math.ulp(absolute);
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        long units = (long) floor;
+        // a decimal midpoint is stored as the nearest representable value, at most half an ulp away, and the
+        // multiplication adds its own rounding error. Beyond half a digit of the next decimal place, the value is
+        // closer to another decimal than to the midpoint
+        double tolerance = Math.min(ulp / 2 * factor + Math.ulp(scaled), 0.05);
+        if (Math.abs(fraction - 0.5) <= tolerance) {
+            if (RoundingMode.HALF_UP.equals(roundingMode) || (units & 1) == 1) {
+                units++;
+            }
+        } else if (fraction > 0.5) {
+            units++;
+        }
+        return units;
+    }
+
+    private static void checkArguments(int scale, RoundingMode roundingMode) {
+        if (scale < 0 || scale > MAXIMUM_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAXIMUM_SCALE + ": " + scale);
+        }
+        if (!RoundingMode.HALF_UP.equals(roundingMode) && !RoundingMode.HALF_EVEN.equals(roundingMode)) {
+            throw new IllegalArgumentException("Unsupported rounding mode: " + roundingMode);
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package rjsv.circularview.utils;
+
+import java.math.RoundingMode;
+
+/**
+ * Formats fixed point progress values into a reused char buffer, so that drawing does not allocate.
+ *
+ * @author <a href="mailto:ricardo.vieira@xpand-it.com">RJSV</a>
+ * @version $Revision : 1 $
+ */
+
+public class ValueTextBuffer {
+
+    // sign + the 19 digits of a long, enough for the leading zero of the longest fraction, + separator
+    private final char[] buffer = new char[1 + 19 + 1];
+    private int start = buffer.length;
+    private long formattedUnits;
+    private int formattedScale = -1;
+
+    /**
+     * Rounds the value half up to a fixed amount of decimal places and formats it.
+     *
+     * @return true if the buffer content changed since the last call
+     */
+    public boolean format(float value, int decimalPlaces) {
+        int scale = Math.max(0, Math.min(decimalPlaces, ValueQuantizer.MAXIMUM_SCALE));
+        return format(ValueQuantizer.toUnits(value, scale, RoundingMode.HALF_UP), scale);
+    }
+
+    /**
+     * Formats a fixed point value, in units of 10^-scale, e.g. 1005 with a scale of 1 as "100.5".
+     *
+     * @return true if the buffer content changed since the last call
+     */
+    public boolean format(long units, int scale) {
+        if (scale < 0 || scale > ValueQuantizer.MAXIMUM_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + ValueQuantizer.MAXIMUM_SCALE + ": " + scale);
+        }
+        if (units == formattedUnits && scale == formattedScale) {
+            return false;
+        }
+        formattedUnits = units;
+        formattedScale = scale;
+
+        boolean negative = units < 0;
+        int position = buffer.length;
+        int digits = 0;
+        // digits are taken from the negative value, which unlike the positive one can hold Long.MIN_VALUE
+        long remaining = negative ? units : -units;
+        do {
+            buffer[--position] = (char) ('0' - (remaining % 10));
+            remaining /= 10;
+            if (++digits == scale) {
+                buffer[--position] = '.';
+            }
+        } while (remaining != 0 || digits <= scale);
+        if (negative) {
+            buffer[--position] = '-';
+        }
+        start = position;
+        return true;
+    }
+
+    /**
+     * Forces the next format call to report a change, e.g. after the paint metrics changed.
+     */
+    public void reset() {
+        formattedScale = -1;
+    }
+
+    public char[] getBuffer() {
+        return buffer;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getLength() {
+        return buffer.length - start;
+    }
+
+}
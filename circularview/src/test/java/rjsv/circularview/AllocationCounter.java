@@ -0,0 +1,31 @@
+package rjsv.circularview;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the bytes allocated by the current thread, on JVMs that count them, such as HotSpot.
+ */
+final class AllocationCounter {
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private AllocationCounter() {
+    }
+
+    static boolean isSupported() {
+        return THREAD_BEAN instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) THREAD_BEAN).isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or -1 if the JVM does not count them
+     */
+    static long currentThreadAllocatedBytes() {
+        if (!isSupported()) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
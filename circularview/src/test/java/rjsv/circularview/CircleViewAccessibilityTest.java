@@ -0,0 +1,182 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.view.WindowManager;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityManager;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Checks that the view honours the SeekBar contract it announces to accessibility services: its value can be scrolled
+ * and set through accessibility actions, and its changes are announced.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class CircleViewAccessibilityTest {
+
+    private RecordingCircleView circleView;
+
+    @Before
+    public void setUp() {
+        ShadowLooper.pauseMainLooper();
+        setAccessibilityEnabled(true);
+        circleView = new RecordingCircleView(RuntimeEnvironment.application);
+        FrameLayout container = new FrameLayout(RuntimeEnvironment.application);
+        container.addView(circleView);
+        WindowManager windowManager = (WindowManager) RuntimeEnvironment.application.getSystemService(Context.WINDOW_SERVICE);
+        windowManager.addView(container, new WindowManager.LayoutParams(200, 200));
+        ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void publishesTheActionsAvailableForTheCurrentValue() {
+        assertActions(circleView, true, false);
+        circleView.setProgressValue(50);
+        assertActions(circleView, true, true);
+        circleView.setProgressValue(100);
+        assertActions(circleView, false, true);
+        circleView.setEnabled(false);
+        AccessibilityNodeInfo info = createNodeInfo();
+        assertFalse(hasAction(info, AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD));
+        assertFalse(hasAction(info, android.R.id.accessibilityActionSetProgress));
+    }
+
+    @Test
+    public void scrollsByATwentiethOfTheRangeWithoutStep() {
+        assertTrue(circleView.performAccessibilityAction(AccessibilityNodeInfo.ACTION_SCROLL_FORWARD, null));
+        assertEquals(5, circleView.getProgressValue(), 0);
+        assertTrue(circleView.performAccessibilityAction(AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD, null));
+        assertEquals(0, circleView.getProgressValue(), 0);
+        assertFalse(circleView.performAccessibilityAction(AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD, null));
+    }
+
+    @Test
+    public void scrollsByTheStep() {
+        circleView.setProgressStep(30);
+        circleView.setProgressValue(60);
+        assertTrue(circleView.performAccessibilityAction(AccessibilityNodeInfo.ACTION_SCROLL_FORWARD, null));
+        assertEquals(90, circleView.getProgressValue(), 0);
+        // the range holds no further step
+        assertFalse(circleView.performAccessibilityAction(AccessibilityNodeInfo.ACTION_SCROLL_FORWARD, null));
+        assertEquals(90, circleView.getProgressValue(), 0);
+    }
+
+    @Test
+    public void setsTheRequestedProgress() {
+        assertTrue(setProgress(42));
+        assertEquals(42, circleView.getProgressValue(), 0);
+        assertTrue(setProgress(250));
+        assertEquals(100, circleView.getProgressValue(), 0);
+        assertFalse(setProgress(100));
+        circleView.setProgressStep(5);
+        assertTrue(setProgress(41));
+        assertEquals(40, circleView.getProgressValue(), 0);
+        assertFalse(circleView.performAccessibilityAction(android.R.id.accessibilityActionSetProgress, new Bundle()));
+    }
+
+    @Test
+    public void ignoresActionsWhileDisabled() {
+        circleView.setEnabled(false);
+        assertFalse(circleView.performAccessibilityAction(AccessibilityNodeInfo.ACTION_SCROLL_FORWARD, null));
+        assertFalse(setProgress(42));
+        assertEquals(0, circleView.getProgressValue(), 0);
+    }
+
+    @Test
+    public void announcesTheValueOnceItSettles() {
+        for (int value = 1; value <= 30; value++) {
+            circleView.setProgressValue(value);
+            ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(0, circleView.selectedEvents);
+        ShadowLooper.idleMainLooper(200, TimeUnit.MILLISECONDS);
+        assertEquals(1, circleView.selectedEvents);
+        AccessibilityEvent event = AccessibilityEvent.obtain(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        circleView.onInitializeAccessibilityEvent(event);
+        assertEquals("android.widget.SeekBar", event.getClassName());
+        assertEquals(100, event.getItemCount());
+        assertEquals(30, event.getCurrentItemIndex());
+    }
+
+    @Test
+    public void doesNotAnnounceWithoutAccessibilityServices() {
+        setAccessibilityEnabled(false);
+        circleView.setProgressValue(30);
+        ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+        assertEquals(0, circleView.selectedEvents);
+    }
+
+    private static void setAccessibilityEnabled(boolean enabled) {
+        shadowOf((AccessibilityManager) RuntimeEnvironment.application.getSystemService(Context.ACCESSIBILITY_SERVICE))
+                .setEnabled(enabled);
+    }
+
+    private boolean setProgress(float value) {
+        Bundle arguments = new Bundle();
+        arguments.putFloat(AccessibilityNodeInfo.ACTION_ARGUMENT_PROGRESS_VALUE, value);
+        return circleView.performAccessibilityAction(android.R.id.accessibilityActionSetProgress, arguments);
+    }
+
+    private AccessibilityNodeInfo createNodeInfo() {
+        AccessibilityNodeInfo info = AccessibilityNodeInfo.obtain();
+        circleView.onInitializeAccessibilityNodeInfo(info);
+        return info;
+    }
+
+    private void assertActions(CircleView circleView, boolean forward, boolean backward) {
+        AccessibilityNodeInfo info = createNodeInfo();
+        assertEquals("android.widget.SeekBar", info.getClassName());
+        assertEquals(forward, hasAction(info, AccessibilityNodeInfo.ACTION_SCROLL_FORWARD));
+        assertEquals(backward, hasAction(info, AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD));
+        assertTrue(hasAction(info, android.R.id.accessibilityActionSetProgress));
+        assertEquals(circleView.getProgressValue(), info.getRangeInfo().getCurrent(), 0);
+    }
+
+    private static boolean hasAction(AccessibilityNodeInfo info, int actionId) {
+        for (AccessibilityNodeInfo.AccessibilityAction action : info.getActionList()) {
+            if (action.getId() == actionId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the value announcements. Robolectric's views never pass them on, as they see no accessibility service.
+     */
+    private static class RecordingCircleView extends CircleView {
+
+        private int selectedEvents;
+
+        RecordingCircleView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void sendAccessibilityEvent(int eventType) {
+            if (eventType == AccessibilityEvent.TYPE_VIEW_SELECTED) {
+                selectedEvents++;
+            }
+            super.sendAccessibilityEvent(eventType);
+        }
+
+    }
+
+}
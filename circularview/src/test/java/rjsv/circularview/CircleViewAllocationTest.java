@@ -0,0 +1,86 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.view.View;
+import android.view.WindowManager;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that drawing a view whose value changes on every frame, text included, allocates nothing once warmed up.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class CircleViewAllocationTest {
+
+    private static final int SIZE = 400;
+    private static final int FRAMES = 1000;
+    private static final int MEASURED_PASSES = 5;
+
+    private final NullCanvas canvas = new NullCanvas();
+    private CircleView circleView;
+
+    @Before
+    public void setUp() {
+        assumeTrue(AllocationCounter.isSupported());
+        ShadowLooper.pauseMainLooper();
+        circleView = new CircleView(RuntimeEnvironment.application);
+        FrameLayout container = new FrameLayout(RuntimeEnvironment.application);
+        container.addView(circleView);
+        WindowManager windowManager = (WindowManager) RuntimeEnvironment.application.getSystemService(Context.WINDOW_SERVICE);
+        windowManager.addView(container, new WindowManager.LayoutParams(SIZE, SIZE));
+        circleView.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        circleView.layout(0, 0, SIZE, SIZE);
+    }
+
+    @Test
+    public void drawingDecimalValuesAllocatesNothing() {
+        circleView.setTextDecimalPlaces(2);
+        assertEquals(0, allocatedBytesDrawingFrames());
+    }
+
+    @Test
+    public void drawingIntegerStepsAllocatesNothing() {
+        circleView.setProgressStep(1);
+        circleView.setProgressStepAsInteger(true);
+        circleView.setStepTicksEnabled(true);
+        assertEquals(0, allocatedBytesDrawingFrames());
+    }
+
+    /**
+     * Draws a frame at a new angle, with a new text, for every frame of a warmup pass and of the measured passes.
+     * Returns the fewest bytes allocated by a measured pass, so that the odd allocation made by the JVM or Robolectric
+     * on the test thread is not attributed to the view, while any allocation made per frame still is.
+     */
+    private long allocatedBytesDrawingFrames() {
+        drawFrames();
+        long fewestAllocatedBytes = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_PASSES; i++) {
+            long bytesBefore = AllocationCounter.currentThreadAllocatedBytes();
+            drawFrames();
+            fewestAllocatedBytes = Math.min(fewestAllocatedBytes, AllocationCounter.currentThreadAllocatedBytes() - bytesBefore);
+        }
+        assertTrue(canvas.getDrawCalls() > 0);
+        return fewestAllocatedBytes;
+    }
+
+    private void drawFrames() {
+        for (int i = 0; i < FRAMES; i++) {
+            circleView.setAnimatedAngle(i * 0.35f);
+            circleView.onDraw(canvas);
+        }
+    }
+
+}
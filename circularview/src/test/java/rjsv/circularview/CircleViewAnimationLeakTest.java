@@ -0,0 +1,205 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.view.View;
+import android.view.WindowManager;
+import android.view.animation.Animation;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.util.ReflectionHelpers;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Attaches animated views to a window and detaches them in a loop, then checks that neither the views nor the objects
+ * captured by their animation listeners and timer operations, e.g. an Activity, are still reachable, even from views
+ * kept for reuse, and that animations keep working once their views are reattached.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class CircleViewAnimationLeakTest {
+
+    private static final int ITERATIONS = 50;
+
+    private WindowManager windowManager;
+
+    @Before
+    public void setUp() {
+        // Robolectric runs every frame of a started animation as soon as the main looper idles
+        ShadowLooper.pauseMainLooper();
+        windowManager = (WindowManager) RuntimeEnvironment.application.getSystemService(Context.WINDOW_SERVICE);
+    }
+
+    @Test
+    public void detachedViewsAreNotRetainedByRunningAnimations() {
+        assertNothingRetained(false);
+    }
+
+    @Test
+    public void detachedViewsAreNotRetainedWithAutoDispose() {
+        assertNothingRetained(true);
+    }
+
+    @Test
+    public void detachedViewsKeptForReuseDoNotRetainTheAnimationListeners() {
+        List<CircleView> recycledViews = new ArrayList<>();
+        List<WeakReference<Object>> references = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            recycledViews.add(attachAnimateAndDetach(true, references));
+        }
+        assertEquals(0, countRetained(references));
+        assertEquals(ITERATIONS, recycledViews.size());
+    }
+
+    @Test
+    public void animationSurvivesReattach() {
+        CircleView circleView = new CircleView(RuntimeEnvironment.application);
+        FrameLayout container = attachToWindow(circleView);
+        final List<Animation> endedAnimations = new ArrayList<>();
+        CircleViewAnimation animation = new CircleViewAnimation()
+                .setCircleView(circleView)
+                .setDuration(1000)
+                .setCustomAnimationListener(new EmptyAnimationListener() {
+                    @Override
+                    public void onAnimationEnd(Animation animation) {
+                        endedAnimations.add(animation);
+                    }
+                });
+        animation.start(0, 100);
+        assertTrue(animation.isAnimationRunning());
+
+        windowManager.removeViewImmediate(container);
+        assertFalse(animation.isAnimationRunning());
+        windowManager.addView(container, new WindowManager.LayoutParams(200, 200));
+        ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+        // Robolectric never reports its windows as visible, which the platform requires to dispatch visibility changes
+        ReflectionHelpers.setField(ReflectionHelpers.getField(container, "mAttachInfo"), "mWindowVisibility", View.VISIBLE);
+        endedAnimations.clear();
+        animation.start(0, 100);
+        assertTrue(animation.isAnimationRunning());
+        // registered again for the visibility of the view, the animation pauses while it is hidden
+        circleView.setVisibility(View.INVISIBLE);
+        assertNull(circleView.getAnimation());
+        circleView.setVisibility(View.VISIBLE);
+        assertEquals(animation, circleView.getAnimation());
+        ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+        assertFalse(animation.isAnimationRunning());
+        assertEquals(100, circleView.getProgressValue(), 0);
+        assertEquals(1, endedAnimations.size());
+    }
+
+    @Test
+    public void disposingARunningAnimationStopsIt() {
+        CircleView circleView = new CircleView(RuntimeEnvironment.application);
+        attachToWindow(circleView);
+        CircleViewAnimation animation = new CircleViewAnimation().setCircleView(circleView).setDuration(1000);
+        animation.start(0, 100);
+        animation.disposeData();
+        assertFalse(animation.isAnimationRunning());
+        // a frame already scheduled for the disposed animation must neither crash nor reach the view
+        ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+        assertEquals(0, circleView.getProgressValue(), 0);
+    }
+
+    private void assertNothingRetained(boolean autoDispose) {
+        List<WeakReference<Object>> references = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            references.add(new WeakReference<Object>(attachAnimateAndDetach(autoDispose, references)));
+        }
+        assertEquals(0, countRetained(references));
+    }
+
+    private static int countRetained(List<WeakReference<Object>> references) {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            System.runFinalization();
+        }
+        int retained = 0;
+        for (WeakReference<Object> reference : references) {
+            if (reference.get() != null) {
+                retained++;
+            }
+        }
+        return retained;
+    }
+
+    private CircleView attachAnimateAndDetach(boolean autoDispose, List<WeakReference<Object>> references) {
+        // stands for the Activity or Fragment the listeners are usually inner classes of
+        final Object owner = new Object();
+        CircleView circleView = new CircleView(RuntimeEnvironment.application);
+        FrameLayout container = attachToWindow(circleView);
+        CircleViewAnimation animation = new CircleViewAnimation()
+                .setCircleView(circleView)
+                .setDuration(60000)
+                .setCustomAnimationListener(new EmptyAnimationListener() {
+                    @Override
+                    public void onAnimationEnd(Animation animation) {
+                        owner.hashCode();
+                    }
+                })
+                .setTimerOperationOnFinish(new Runnable() {
+                    @Override
+                    public void run() {
+                        owner.hashCode();
+                    }
+                });
+        if (!autoDispose) {
+            animation.setAutoDisposeOnDetach(false);
+        }
+        animation.start(0, 100);
+        detachFromWindow(container);
+        ShadowLooper.idleMainLooper(60000, TimeUnit.MILLISECONDS);
+        references.add(new WeakReference<>(owner));
+        return circleView;
+    }
+
+    private FrameLayout attachToWindow(CircleView circleView) {
+        FrameLayout container = new FrameLayout(RuntimeEnvironment.application);
+        container.addView(circleView);
+        windowManager.addView(container, new WindowManager.LayoutParams(200, 200));
+        ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+        assertTrue(circleView.isAttachedToWindow());
+        return container;
+    }
+
+    private void detachFromWindow(FrameLayout container) {
+        windowManager.removeViewImmediate(container);
+        // unlike the platform, Robolectric's window manager keeps every window ever added
+        container.removeAllViews();
+    }
+
+    private static class EmptyAnimationListener implements Animation.AnimationListener {
+
+        @Override
+        public void onAnimationStart(Animation animation) {
+            //
+        }
+
+        @Override
+        public void onAnimationEnd(Animation animation) {
+            //
+        }
+
+        @Override
+        public void onAnimationRepeat(Animation animation) {
+            //
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.view.WindowManager;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that bound samples reach the change listeners the same way whether they are animated or not, that unbinding
+ * drops the samples not yet applied, and that retargeting a running animator keeps its velocity.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class CircleViewBindingTest {
+
+    private CircleView circleView;
+    private RecordingListener listener;
+
+    @Before
+    public void setUp() {
+        ShadowLooper.pauseMainLooper();
+        circleView = new CircleView(RuntimeEnvironment.application);
+        listener = new RecordingListener();
+        circleView.addOnCircleViewChangeListener(listener);
+        FrameLayout container = new FrameLayout(RuntimeEnvironment.application);
+        container.addView(circleView);
+        WindowManager windowManager = (WindowManager) RuntimeEnvironment.application.getSystemService(Context.WINDOW_SERVICE);
+        windowManager.addView(container, new WindowManager.LayoutParams(200, 200));
+        ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void samplesAppliedAsIsNotifyTheListenerOnceEach() {
+        assertSamplesNotifiedOnce(0);
+    }
+
+    @Test
+    public void animatedSamplesNotifyTheListenerOnceEach() {
+        assertSamplesNotifiedOnce(250);
+    }
+
+    @Test
+    public void unbindingDropsTheSamplesNotYetApplied() {
+        ManualDataSource dataSource = new ManualDataSource();
+        circleView.bindDataSource(dataSource, 0);
+        dataSource.push(40);
+        circleView.unbindDataSource();
+        ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+        assertTrue(listener.values.isEmpty());
+        assertEquals(0, circleView.getProgressValue(), 0);
+    }
+
+    @Test
+    public void detachingDropsTheSamplesNotYetApplied() {
+        ManualDataSource dataSource = new ManualDataSource();
+        circleView.bindDataSource(dataSource, 0);
+        dataSource.push(40);
+        ((FrameLayout) circleView.getParent()).removeView(circleView);
+        ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+        assertTrue(listener.values.isEmpty());
+        assertEquals(0, circleView.getProgressValue(), 0);
+    }
+
+    @Test
+    public void retargetingKeepsTheVelocity() {
+        ManualFrameClock frameClock = new ManualFrameClock();
+        CircleViewAnimator animator = new CircleViewAnimator(frameClock).setCircleView(circleView).setDuration(1000);
+        animator.startAngles(0, 360);
+        frameClock.runFrames(11);
+        float velocity = 360 * ManualFrameClock.FRAME_NANOS / 1000000000f;
+        assertEquals(10 * velocity, animator.getAnimatedAngle(), 0.01f);
+
+        animator.animateTo(300);
+        float retargetAngle = animator.getAnimatedAngle();
+        frameClock.runFrames(1);
+        // a restarted linear animation would only move by (300 - 57.6) * 0.016
+        assertEquals(velocity, animator.getAnimatedAngle() - retargetAngle, 0.05f);
+        float previousAngle = animator.getAnimatedAngle();
+        float previousDelta = velocity;
+        for (int i = 0; i < 61; i++) {
+            frameClock.runFrames(1);
+            float delta = animator.getAnimatedAngle() - previousAngle;
+            // eases into the new angle without overshooting it
+            assertTrue(delta >= 0 && delta <= previousDelta + 0.05f);
+            assertTrue(animator.getAnimatedAngle() <= 300);
+            previousAngle = animator.getAnimatedAngle();
+            previousDelta = delta;
+        }
+        frameClock.runFrames(1);
+        assertFalse(animator.isRunning());
+        assertEquals(300, animator.getAnimatedAngle(), 0);
+    }
+
+    private void assertSamplesNotifiedOnce(long animationDurationInMilliseconds) {
+        ManualDataSource dataSource = new ManualDataSource();
+        circleView.bindDataSource(dataSource, animationDurationInMilliseconds);
+        dataSource.push(40);
+        ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+        dataSource.push(150);
+        ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+        dataSource.push(-20);
+        ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(40f, 100f, 0f), listener.values);
+        assertEquals(0, circleView.getProgressValue(), 0);
+    }
+
+    private static class ManualDataSource implements CircleViewDataSource {
+
+        private Sink sink;
+
+        @Override
+        public Subscription subscribe(Sink sink) {
+            this.sink = sink;
+            return new Subscription() {
+                @Override
+                public void unsubscribe() {
+                    ManualDataSource.this.sink = null;
+                }
+            };
+        }
+
+        void push(float value) {
+            sink.onValue(value);
+        }
+
+    }
+
+    private static class RecordingListener implements CircleViewChangeListener {
+
+        private final List<Float> values = new ArrayList<>();
+
+        @Override
+        public void onPointsChanged(CircleView circleView, float points) {
+            values.add(points);
+        }
+
+        @Override
+        public void onStartTracking(CircleView circleView) {
+            //
+        }
+
+        @Override
+        public void onStopTracking(CircleView circleView) {
+            //
+        }
+
+    }
+
+}
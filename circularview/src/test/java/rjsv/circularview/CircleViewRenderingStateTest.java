@@ -0,0 +1,198 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.view.View;
+import android.view.WindowManager;
+import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Transformation;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.util.ReflectionHelpers;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Hides animated views and checks that they are neither invalidated nor advanced while hidden, and that both animation
+ * engines pick up where they left off, without notifying their start again, once visible.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class CircleViewRenderingStateTest {
+
+    private CircleView circleView;
+    private CircleViewMetrics metrics;
+    private long frameTimeMillis = 1000;
+
+    @Before
+    public void setUp() {
+        ShadowLooper.pauseMainLooper();
+        circleView = new CircleView(RuntimeEnvironment.application);
+        metrics = new CircleViewMetrics();
+        circleView.setMetricsSink(metrics);
+        FrameLayout container = new FrameLayout(RuntimeEnvironment.application);
+        container.addView(circleView);
+        WindowManager windowManager = (WindowManager) RuntimeEnvironment.application.getSystemService(Context.WINDOW_SERVICE);
+        windowManager.addView(container, new WindowManager.LayoutParams(200, 200));
+        ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+        // Robolectric never reports its windows as visible, which the platform requires to dispatch visibility changes
+        ReflectionHelpers.setField(ReflectionHelpers.getField(container, "mAttachInfo"), "mWindowVisibility", View.VISIBLE);
+    }
+
+    @Test
+    public void hiddenViewIsNotInvalidatedByARunningAnimation() {
+        CircleViewAnimation animation = new CircleViewAnimation().setCircleView(circleView).setDuration(1000);
+        animation.start(0, 100);
+        drawAnimationFrame(0);
+        drawAnimationFrame(100);
+        assertEquals(10, circleView.getProgressValue(), 0);
+        assertTrue(metrics.getInvalidationCount() > 0);
+
+        circleView.setVisibility(View.INVISIBLE);
+        assertFalse(circleView.isRenderingActive());
+        metrics.reset();
+        for (int i = 0; i < 30; i++) {
+            drawAnimationFrame(16);
+        }
+        circleView.setProgressValue(50);
+        assertEquals(0, metrics.getInvalidationCount());
+        assertEquals(0, metrics.getDrawCount());
+        assertTrue(animation.isAnimationRunning());
+
+        circleView.setVisibility(View.VISIBLE);
+        assertTrue(metrics.getInvalidationCount() > 0);
+        // the time spent hidden is caught up
+        drawAnimationFrame(16);
+        assertEquals(59, circleView.getProgressValue(), 0);
+        drawAnimationFrame(1000);
+        assertFalse(animation.isAnimationRunning());
+        assertEquals(100, circleView.getProgressValue(), 0);
+    }
+
+    @Test
+    public void resumingAHiddenAnimationDoesNotNotifyItsStartAgain() {
+        CountingAnimationListener listener = new CountingAnimationListener();
+        CircleViewAnimation animation = new CircleViewAnimation()
+                .setCircleView(circleView)
+                .setDuration(1000)
+                .setCustomAnimationListener(listener);
+        animation.start(0, 100);
+        drawAnimationFrame(0);
+        drawAnimationFrame(100);
+        for (int i = 0; i < 3; i++) {
+            circleView.setVisibility(View.INVISIBLE);
+            drawAnimationFrame(50);
+            circleView.setVisibility(View.VISIBLE);
+            drawAnimationFrame(50);
+        }
+        drawAnimationFrame(1000);
+        assertFalse(animation.isAnimationRunning());
+        assertEquals(1, listener.starts);
+        assertEquals(1, listener.ends);
+    }
+
+    @Test
+    public void stoppingAHiddenAnimationNotifiesItsEnd() {
+        CountingAnimationListener listener = new CountingAnimationListener();
+        CircleViewAnimation animation = new CircleViewAnimation()
+                .setCircleView(circleView)
+                .setDuration(1000)
+                .setCustomAnimationListener(listener);
+        animation.start(0, 100);
+        drawAnimationFrame(0);
+        circleView.setVisibility(View.INVISIBLE);
+        animation.stop();
+        assertEquals(1, listener.starts);
+        assertEquals(1, listener.ends);
+    }
+
+    @Test
+    public void hiddenViewIsNotAdvancedByARunningAnimator() {
+        ManualFrameClock frameClock = new ManualFrameClock();
+        CircleViewAnimator animator = new CircleViewAnimator(frameClock).setCircleView(circleView).setDuration(1000);
+        animator.start(0, 100);
+        frameClock.runFrames(5);
+        assertTrue(metrics.getInvalidationCount() > 0);
+
+        circleView.setVisibility(View.INVISIBLE);
+        metrics.reset();
+        frameClock.runFrames(1);
+        assertTrue(animator.isSuspended());
+        float hiddenAngle = animator.getAnimatedAngle();
+        frameClock.runFrames(20);
+        assertEquals(0, frameClock.pendingCallbacks());
+        assertEquals(0, metrics.getInvalidationCount());
+        assertEquals(0, metrics.getDrawCount());
+        assertEquals(hiddenAngle, animator.getAnimatedAngle(), 0);
+
+        circleView.setVisibility(View.VISIBLE);
+        assertFalse(animator.isSuspended());
+        frameClock.runFrames(1);
+        // the time spent hidden is caught up: 4 frames were played before hiding, 22 frames elapsed since
+        assertEquals(360 * (4 + 22) * ManualFrameClock.FRAME_NANOS / 1000000000f, animator.getAnimatedAngle(), 0.01f);
+    }
+
+    @Test
+    public void cappedFramesAreDueWithinTheTolerance() {
+        assertTrue(circleView.isAnimationFrameDue(0));
+        circleView.setLowPowerFrameRate(30);
+        circleView.setLowPowerModeEnabled(true);
+        assertFalse(circleView.isAnimationFrameDue(ManualFrameClock.FRAME_NANOS));
+        assertTrue(circleView.isAnimationFrameDue(30000000L));
+        assertTrue(circleView.isAnimationFrameDue(2 * ManualFrameClock.FRAME_NANOS));
+        circleView.setLowPowerModeEnabled(false);
+        assertTrue(circleView.isAnimationFrameDue(ManualFrameClock.FRAME_NANOS));
+    }
+
+    /**
+     * Applies the view's animation on a frame the given time after the previous one, as the platform does when drawing
+     * the view. Robolectric's own animation runner runs every frame of an animation at once, regardless of the clock.
+     */
+    private void drawAnimationFrame(long elapsedMilliseconds) {
+        frameTimeMillis += elapsedMilliseconds;
+        Animation animation = circleView.getAnimation();
+        if (animation != null) {
+            // the choreographer locks the animation clock to the frame time while drawing
+            AnimationUtils.lockAnimationClock(frameTimeMillis);
+            try {
+                animation.getTransformation(frameTimeMillis, new Transformation());
+            } finally {
+                AnimationUtils.unlockAnimationClock();
+            }
+        }
+    }
+
+    private static class CountingAnimationListener implements Animation.AnimationListener {
+
+        private int starts;
+        private int ends;
+
+        @Override
+        public void onAnimationStart(Animation animation) {
+            starts++;
+        }
+
+        @Override
+        public void onAnimationEnd(Animation animation) {
+            ends++;
+        }
+
+        @Override
+        public void onAnimationRepeat(Animation animation) {
+            //
+        }
+
+    }
+
+}
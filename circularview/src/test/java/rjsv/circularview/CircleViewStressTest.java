@@ -0,0 +1,205 @@
+package rjsv.circularview;
+
+import android.content.Context;
+import android.view.WindowManager;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import rjsv.circularview.utils.FrameClock;
+import rjsv.circularview.utils.SharedFrameClock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Animates hundreds of views at once on a shared frame clock, and checks that they advance together on a single frame
+ * callback, with one invalidation each per frame, and release their frame slots once finished or detached. Also checks
+ * that the cost of a shared frame grows linearly with its callbacks.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class CircleViewStressTest {
+
+    private static final int VIEWS = 300;
+    private static final int LONGEST_DURATION_MILLISECONDS = 900;
+    private static final int FEW_CALLBACKS = 300;
+    private static final int MANY_CALLBACKS = 3000;
+    private static final int TIMED_CALLBACKS = 150000;
+    private static final int TIMED_RUNS = 15;
+
+    private final ManualFrameClock frameClock = new ManualFrameClock();
+    private final SharedFrameClock sharedFrameClock = new SharedFrameClock(frameClock);
+    private final CircleViewMetrics metrics = new CircleViewMetrics();
+    private final CircleView[] circleViews = new CircleView[VIEWS];
+    private final CircleViewAnimator[] animators = new CircleViewAnimator[VIEWS];
+    private FrameLayout container;
+
+    @Before
+    public void setUp() {
+        ShadowLooper.pauseMainLooper();
+        container = new FrameLayout(RuntimeEnvironment.application);
+        for (int i = 0; i < VIEWS; i++) {
+            circleViews[i] = new CircleView(RuntimeEnvironment.application);
+            circleViews[i].setMetricsSink(metrics);
+            container.addView(circleViews[i]);
+            animators[i] = new CircleViewAnimator(sharedFrameClock)
+                    .setCircleView(circleViews[i])
+                    .setDuration(LONGEST_DURATION_MILLISECONDS - i % 5 * 100);
+        }
+        WindowManager windowManager = (WindowManager) RuntimeEnvironment.application.getSystemService(Context.WINDOW_SERVICE);
+        windowManager.addView(container, new WindowManager.LayoutParams(200, 200));
+        ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void everyViewAdvancesOnASingleFrameCallback() {
+        for (CircleViewAnimator animator : animators) {
+            animator.start(0, 100);
+        }
+        assertEquals(1, frameClock.pendingCallbacks());
+        assertEquals(VIEWS, sharedFrameClock.getPendingCallbackCount());
+
+        float[] previousAngles = new float[VIEWS];
+        int frames = 0;
+        while (frameClock.pendingCallbacks() > 0) {
+            assertEquals(1, frameClock.pendingCallbacks());
+            metrics.reset();
+            frameClock.runFrames(1);
+            frames++;
+            int running = 0;
+            for (int i = 0; i < VIEWS; i++) {
+                if (animators[i].isRunning()) {
+                    running++;
+                    // the first frame only starts the clock of every animator
+                    assertTrue(frames == 1 || animators[i].getAnimatedAngle() > previousAngles[i]);
+                }
+                previousAngles[i] = animators[i].getAnimatedAngle();
+            }
+            assertTrue(metrics.getInvalidationCount() <= VIEWS);
+            assertEquals(running, sharedFrameClock.getPendingCallbackCount());
+        }
+        assertEquals(LONGEST_DURATION_MILLISECONDS * 1000000L / ManualFrameClock.FRAME_NANOS + 2, frames);
+        for (CircleView circleView : circleViews) {
+            assertEquals(100, circleView.getProgressValue(), 0);
+        }
+    }
+
+    @Test
+    public void detachedViewsReleaseTheirFrameSlots() {
+        for (CircleViewAnimator animator : animators) {
+            animator.start(0, 100);
+        }
+        frameClock.runFrames(10);
+        CircleView[] detachedViews = new CircleView[VIEWS / 2];
+        for (int i = 0; i < detachedViews.length; i++) {
+            detachedViews[i] = circleViews[2 * i];
+            container.removeView(detachedViews[i]);
+        }
+        frameClock.runFrames(1);
+        assertEquals(VIEWS - detachedViews.length, sharedFrameClock.getPendingCallbackCount());
+        frameClock.runFrames(100);
+        assertEquals(0, frameClock.pendingCallbacks());
+        for (int i = 0; i < VIEWS; i++) {
+            assertEquals(i % 2 == 0, animators[i].isSuspended());
+            // the first of the 10 frames only started the clock
+            assertEquals(i % 2 == 0 ? 9 * 16f / (LONGEST_DURATION_MILLISECONDS - i % 5 * 100) * 100 : 100,
+                    circleViews[i].getProgressValue(), 0.5f);
+        }
+
+        for (CircleView circleView : detachedViews) {
+            container.addView(circleView);
+        }
+        assertEquals(detachedViews.length, sharedFrameClock.getPendingCallbackCount());
+        frameClock.runFrames(100);
+        assertEquals(0, frameClock.pendingCallbacks());
+        for (int i = 0; i < VIEWS; i++) {
+            assertFalse(animators[i].isRunning());
+            assertEquals(100, circleViews[i].getProgressValue(), 0);
+        }
+    }
+
+    @Test
+    public void retargetingEveryViewOnEveryFrameKeepsASingleSlotPerView() {
+        Random random = new Random(42);
+        for (CircleViewAnimator animator : animators) {
+            animator.start(0, 50);
+        }
+        for (int frame = 0; frame < 120; frame++) {
+            for (CircleViewAnimator animator : animators) {
+                animator.animateTo(random.nextFloat() * 360);
+            }
+            assertEquals(VIEWS, sharedFrameClock.getPendingCallbackCount());
+            assertEquals(1, frameClock.pendingCallbacks());
+            metrics.reset();
+            frameClock.runFrames(1);
+            assertTrue(metrics.getInvalidationCount() <= VIEWS);
+            for (CircleViewAnimator animator : animators) {
+                assertTrue(animator.getAnimatedAngle() >= 0 && animator.getAnimatedAngle() <= 360);
+            }
+        }
+        frameClock.runFrames(LONGEST_DURATION_MILLISECONDS / 16 + 1);
+        assertEquals(0, frameClock.pendingCallbacks());
+        assertEquals(0, sharedFrameClock.getPendingCallbackCount());
+    }
+
+    @Test
+    public void frameCostGrowsLinearlyWithTheCallbacks() {
+        SharedFrameClock fewCallbacksClock = createReschedulingClock(FEW_CALLBACKS);
+        SharedFrameClock manyCallbacksClock = createReschedulingClock(MANY_CALLBACKS);
+        long fewCallbacksPicos = Long.MAX_VALUE;
+        long manyCallbacksPicos = Long.MAX_VALUE;
+        // both sizes take turns, so that a pause of the JVM or the machine only slows down single runs of either, and
+        // the first runs warm up the JIT
+        for (int run = 0; run < TIMED_RUNS; run++) {
+            fewCallbacksPicos = Math.min(fewCallbacksPicos, callbackPicos(fewCallbacksClock, FEW_CALLBACKS));
+            manyCallbacksPicos = Math.min(manyCallbacksPicos, callbackPicos(manyCallbacksClock, MANY_CALLBACKS));
+        }
+        assertEquals(FEW_CALLBACKS, fewCallbacksClock.getPendingCallbackCount());
+        assertEquals(MANY_CALLBACKS, manyCallbacksClock.getPendingCallbackCount());
+        // 10 times the callbacks, linear membership costs the same per callback, quadratic about 10 times more
+        double ratio = (double) manyCallbacksPicos / fewCallbacksPicos;
+        assertTrue("callback cost ratio " + ratio, ratio < 4);
+    }
+
+    /**
+     * Creates a clock whose callbacks all remove and post themselves again on every frame, as retargeted animators do.
+     */
+    private static SharedFrameClock createReschedulingClock(int callbackCount) {
+        final SharedFrameClock clock = new SharedFrameClock(new ManualFrameClock());
+        for (int i = 0; i < callbackCount; i++) {
+            clock.postFrameCallback(new FrameClock.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    clock.removeFrameCallback(this);
+                    clock.postFrameCallback(this);
+                }
+            });
+        }
+        return clock;
+    }
+
+    /**
+     * @return the average cost of a callback in picoseconds, over frames running the same number of callbacks in total
+     * whatever the size of the clock
+     */
+    private static long callbackPicos(SharedFrameClock clock, int callbackCount) {
+        int frames = TIMED_CALLBACKS / callbackCount;
+        long startTime = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            clock.doFrame(frame * ManualFrameClock.FRAME_NANOS);
+        }
+        return (System.nanoTime() - startTime) * 1000 / TIMED_CALLBACKS;
+    }
+
+}
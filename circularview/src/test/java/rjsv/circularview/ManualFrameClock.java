@@ -0,0 +1,43 @@
+package rjsv.circularview;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import rjsv.circularview.utils.FrameClock;
+
+/**
+ * Frame clock advanced by hand, one frame of a fixed interval at a time.
+ */
+class ManualFrameClock implements FrameClock {
+
+    static final long FRAME_NANOS = 16000000L;
+
+    private final List<FrameCallback> callbacks = new ArrayList<>();
+    private long frameTimeNanos = 0;
+
+    @Override
+    public void postFrameCallback(FrameCallback callback) {
+        callbacks.add(callback);
+    }
+
+    @Override
+    public void removeFrameCallback(FrameCallback callback) {
+        callbacks.remove(callback);
+    }
+
+    void runFrames(int frames) {
+        for (int i = 0; i < frames; i++) {
+            frameTimeNanos += FRAME_NANOS;
+            List<FrameCallback> due = new ArrayList<>(callbacks);
+            callbacks.clear();
+            for (FrameCallback callback : due) {
+                callback.doFrame(frameTimeNanos);
+            }
+        }
+    }
+
+    int pendingCallbacks() {
+        return callbacks.size();
+    }
+
+}
@@ -0,0 +1,72 @@
+package rjsv.circularview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.RectF;
+
+/**
+ * Canvas that only counts the drawing calls made by a {@link CircleView}, so that measuring a draw measures the view
+ * rather than the rasterizer, or the recording done by Robolectric's canvas.
+ */
+class NullCanvas extends Canvas {
+
+    private int drawCalls;
+
+    int getDrawCalls() {
+        return drawCalls;
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return false;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        //
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+        //
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+        drawCalls++;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        drawCalls++;
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        drawCalls++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        drawCalls++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture) {
+        drawCalls++;
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        drawCalls++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        drawCalls++;
+    }
+
+}
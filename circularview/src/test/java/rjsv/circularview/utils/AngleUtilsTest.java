@@ -0,0 +1,65 @@
+package rjsv.circularview.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AngleUtilsTest {
+
+    private static final double MAXIMUM_ATAN2_ERROR = 0.0016;
+
+    @Test
+    public void fastAtan2IsWithinItsErrorBoundAroundTheCircle() {
+        for (int i = 0; i < 360000; i++) {
+            double angle = Math.toRadians(i / 1000.0);
+            assertAtan2((float) Math.sin(angle), (float) Math.cos(angle));
+        }
+    }
+
+    @Test
+    public void fastAtan2IsWithinItsErrorBoundAtAnyScale() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000000; i++) {
+            float scale = (float) Math.pow(10, random.nextInt(9) - 4);
+            assertAtan2((random.nextFloat() * 2 - 1) * scale, (random.nextFloat() * 2 - 1) * scale);
+        }
+    }
+
+    @Test
+    public void fastAtan2IsExactOnTheAxesAndDiagonals() {
+        assertEquals(0, AngleUtils.fastAtan2(0, 0), 0);
+        assertEquals(0, AngleUtils.fastAtan2(0, 5), 0);
+        assertEquals(Math.PI / 2, AngleUtils.fastAtan2(5, 0), 1e-6);
+        assertEquals(Math.PI, AngleUtils.fastAtan2(0, -5), 1e-6);
+        assertEquals(-Math.PI / 2, AngleUtils.fastAtan2(-5, 0), 1e-6);
+        assertEquals(Math.PI / 4, AngleUtils.fastAtan2(3, 3), 1e-6);
+        assertEquals(-3 * Math.PI / 4, AngleUtils.fastAtan2(-3, -3), 1e-6);
+    }
+
+    @Test
+    public void fastPointToAngleMatchesPointToAngle() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            float x = random.nextFloat() * 400 - 200;
+            float y = random.nextFloat() * 400 - 200;
+            boolean clockwise = random.nextBoolean();
+            float fastAngle = AngleUtils.fastPointToAngle(x, y, clockwise);
+            assertTrue(fastAngle >= 0 && fastAngle < 360.01f);
+            float difference = Math.abs(fastAngle - AngleUtils.pointToAngle(x, y, clockwise));
+            // both sides of 0h are the same angle
+            assertEquals(0, Math.min(difference, 360 - difference), Math.toDegrees(MAXIMUM_ATAN2_ERROR));
+        }
+    }
+
+    private static void assertAtan2(float y, float x) {
+        double expected = Math.atan2(y, x);
+        double error = Math.abs(AngleUtils.fastAtan2(y, x) - expected);
+        // the approximation may land on the other side of +-pi
+        error = Math.min(error, 2 * Math.PI - error);
+        assertTrue("atan2(" + y + ", " + x + ") off by " + error, error < MAXIMUM_ATAN2_ERROR);
+    }
+
+}
@@ -0,0 +1,49 @@
+package rjsv.circularview.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TrigTableTest {
+
+    @Test
+    public void interpolatesWithinTheLinearInterpolationBound() {
+        for (int size : new int[]{720, 1000, 3600, 8192}) {
+            TrigTable table = new TrigTable(size);
+            double entryRadians = 2 * Math.PI / size;
+            // the error of linear interpolation is at most h^2 / 8, plus the rounding of the float entry position
+            double maximumError = entryRadians * entryRadians / 8 + 2e-6;
+            for (int i = -360000; i <= 720000; i++) {
+                float degrees = i / 1000f;
+                assertEquals(Math.sin(Math.toRadians(degrees)), table.sin(degrees), maximumError);
+                assertEquals(Math.cos(Math.toRadians(degrees)), table.cos(degrees), maximumError);
+            }
+        }
+    }
+
+    @Test
+    public void sizesTheTableForTheStepResolution() {
+        assertEquals(720, TrigTable.sizeForResolution(0));
+        assertEquals(720, TrigTable.sizeForResolution(1));
+        assertEquals(720, TrigTable.sizeForResolution(45));
+        assertEquals(784, TrigTable.sizeForResolution(360f / 49));
+        assertEquals(728, TrigTable.sizeForResolution(360f / 26));
+        assertEquals(3600, TrigTable.sizeForResolution(0.1f));
+        // steps that do not divide the circle evenly
+        assertEquals(8192, TrigTable.sizeForResolution(7));
+        assertEquals(8192, TrigTable.sizeForResolution(0.01f));
+    }
+
+    @Test
+    public void stepAnglesLandOnExactEntries() {
+        for (float step : new float[]{1, 7.5f, 30, 360f / 49}) {
+            TrigTable table = new TrigTable(TrigTable.sizeForResolution(step));
+            for (int i = 0; i * step < 360; i++) {
+                float degrees = i * step;
+                assertEquals((float) Math.sin(Math.toRadians(degrees)), table.sin(degrees), 1e-6f);
+                assertEquals((float) Math.cos(Math.toRadians(degrees)), table.cos(degrees), 1e-6f);
+            }
+        }
+    }
+
+}
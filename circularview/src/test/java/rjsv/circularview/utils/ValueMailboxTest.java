@@ -0,0 +1,180 @@
+package rjsv.circularview.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import rjsv.circularview.enumerators.AggregationMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValueMailboxTest {
+
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void consumeWithoutPublishReturnsFalse() {
+        ValueMailbox mailbox = new ValueMailbox();
+        assertFalse(mailbox.isPending());
+        assertFalse(mailbox.consume());
+    }
+
+    @Test
+    public void firstPublishRequestsConsumption() {
+        ValueMailbox mailbox = new ValueMailbox();
+        assertTrue(mailbox.publish(1));
+        assertFalse(mailbox.publish(2));
+        assertTrue(mailbox.isPending());
+        assertTrue(mailbox.consume());
+        assertFalse(mailbox.isPending());
+        assertTrue(mailbox.publish(3));
+    }
+
+    @Test
+    public void aggregatesTheValuesPublishedSinceTheLastConsumption() {
+        ValueMailbox mailbox = new ValueMailbox();
+        mailbox.publish(4);
+        mailbox.publish(-2);
+        mailbox.publish(7);
+        assertTrue(mailbox.consume());
+        assertEquals(7, mailbox.getValue(AggregationMode.LATEST), DELTA);
+        assertEquals(-2, mailbox.getValue(AggregationMode.MINIMUM), DELTA);
+        assertEquals(7, mailbox.getValue(AggregationMode.MAXIMUM), DELTA);
+        assertEquals(3, mailbox.getValue(AggregationMode.AVERAGE), DELTA);
+        assertEquals(3, mailbox.getPublishedCount());
+        assertEquals(2, mailbox.getDroppedCount());
+        assertEquals(1, mailbox.getCoalescedCount());
+
+        mailbox.publish(10);
+        assertTrue(mailbox.consume());
+        assertEquals(10, mailbox.getMinimum(), DELTA);
+        assertEquals(10, mailbox.getMaximum(), DELTA);
+        assertEquals(10, mailbox.getAverage(), DELTA);
+        assertEquals(1, mailbox.getCoalescedCount());
+    }
+
+    @Test
+    public void resetCountersKeepsTheLastBatch() {
+        ValueMailbox mailbox = new ValueMailbox();
+        mailbox.publish(1);
+        mailbox.publish(2);
+        mailbox.consume();
+        mailbox.resetCounters();
+        assertEquals(0, mailbox.getPublishedCount());
+        assertEquals(0, mailbox.getDroppedCount());
+        assertEquals(0, mailbox.getCoalescedCount());
+        assertEquals(2, mailbox.getLatest(), DELTA);
+    }
+
+    @Test(timeout = 1000)
+    public void consumeDoesNotWaitForAWriterParkedMidPublish() {
+        ValueMailbox mailbox = new ValueMailbox();
+        mailbox.publish(1);
+        ValueMailbox.Batch parked = mailbox.enter();
+        assertFalse(mailbox.consume());
+        assertTrue(mailbox.isPending());
+        // values published meanwhile go to the other batch, which needs its own consumption
+        assertTrue(mailbox.publish(3));
+
+        parked.add(2);
+        mailbox.leave(parked);
+        assertTrue(mailbox.consume());
+        assertEquals(2, mailbox.getLatest(), DELTA);
+        assertEquals(1, mailbox.getMinimum(), DELTA);
+        assertEquals(2, mailbox.getMaximum(), DELTA);
+        assertTrue(mailbox.isPending());
+        assertTrue(mailbox.consume());
+        assertEquals(3, mailbox.getLatest(), DELTA);
+        assertFalse(mailbox.isPending());
+    }
+
+    @Test
+    public void clearDiscardsThePublishedValues() {
+        ValueMailbox mailbox = new ValueMailbox();
+        mailbox.publish(1);
+        mailbox.clear();
+        assertFalse(mailbox.isPending());
+        assertFalse(mailbox.consume());
+        assertTrue(mailbox.publish(2));
+        assertTrue(mailbox.consume());
+        assertEquals(2, mailbox.getLatest(), DELTA);
+    }
+
+    @Test(timeout = 1000)
+    public void clearDiscardsTheValuesOfAWriterParkedMidPublish() {
+        ValueMailbox mailbox = new ValueMailbox();
+        mailbox.publish(1);
+        ValueMailbox.Batch parked = mailbox.enter();
+        mailbox.consume();
+        mailbox.publish(3);
+        mailbox.clear();
+
+        parked.add(2);
+        mailbox.leave(parked);
+        assertFalse(mailbox.consume());
+        assertFalse(mailbox.isPending());
+        assertTrue(mailbox.publish(4));
+        assertTrue(mailbox.consume());
+        assertEquals(4, mailbox.getLatest(), DELTA);
+        assertEquals(4, mailbox.getMinimum(), DELTA);
+    }
+
+    @Test
+    public void concurrentWritersNeverProduceInconsistentBatches() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            publishConcurrently();
+        }
+    }
+
+    private void publishConcurrently() throws InterruptedException {
+        final ValueMailbox mailbox = new ValueMailbox();
+        final int writerCount = 4;
+        final int valuesPerWriter = 50000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(writerCount);
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        for (int i = 0; i < writerCount; i++) {
+            final int writer = i;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int j = 0; j < valuesPerWriter; j++) {
+                            // values stay within [1, 100]
+                            mailbox.publish(1 + (writer * 31 + j) % 100);
+                        }
+                    } catch (InterruptedException e) {
+                        failed.set(true);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        long consumedBatches = 0;
+        start.countDown();
+        while (done.getCount() > 0 || mailbox.isPending()) {
+            if (mailbox.consume()) {
+                consumedBatches++;
+                float minimum = mailbox.getMinimum();
+                float maximum = mailbox.getMaximum();
+                float average = mailbox.getAverage();
+                assertTrue("minimum " + minimum, minimum >= 1 && minimum <= 100);
+                assertTrue("maximum " + maximum, maximum >= minimum && maximum <= 100);
+                assertTrue("average " + average, average >= minimum - DELTA && average <= maximum + DELTA);
+            }
+        }
+
+        assertFalse(failed.get());
+        long published = mailbox.getPublishedCount();
+        assertEquals((long) writerCount * valuesPerWriter, published);
+        // every published value was either applied or coalesced into an applied batch
+        assertEquals(published, consumedBatches + mailbox.getDroppedCount());
+    }
+
+}
@@ -0,0 +1,209 @@
+package rjsv.circularview.utils;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ValueQuantizerTest {
+
+    private static final int RANDOM_SAMPLES = 200000;
+
+    @Test
+    public void roundsTiesAwayFromZeroWithHalfUp() {
+        assertUnits(1, 0.5f, 0, RoundingMode.HALF_UP);
+        assertUnits(2, 1.5f, 0, RoundingMode.HALF_UP);
+        assertUnits(3, 2.5f, 0, RoundingMode.HALF_UP);
+        assertUnits(268, 2.675f, 2, RoundingMode.HALF_UP);
+        assertUnits(267, 2.665f, 2, RoundingMode.HALF_UP);
+        assertUnits(13, 0.125f, 2, RoundingMode.HALF_UP);
+        assertUnits(1000, 99.95f, 1, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    public void roundsTiesToEvenWithHalfEven() {
+        assertUnits(0, 0.5f, 0, RoundingMode.HALF_EVEN);
+        assertUnits(2, 1.5f, 0, RoundingMode.HALF_EVEN);
+        assertUnits(2, 2.5f, 0, RoundingMode.HALF_EVEN);
+        assertUnits(268, 2.675f, 2, RoundingMode.HALF_EVEN);
+        assertUnits(266, 2.665f, 2, RoundingMode.HALF_EVEN);
+        assertUnits(12, 0.125f, 2, RoundingMode.HALF_EVEN);
+        assertUnits(1000, 99.95f, 1, RoundingMode.HALF_EVEN);
+    }
+
+    @Test
+    public void roundsValuesAwayFromTiesToTheNearestDecimal() {
+        for (RoundingMode mode : new RoundingMode[]{RoundingMode.HALF_UP, RoundingMode.HALF_EVEN}) {
+            assertUnits(0, 0.49f, 0, mode);
+            assertUnits(1, 0.51f, 0, mode);
+            assertUnits(314, 3.14159f, 2, mode);
+            assertUnits(3142, 3.14159f, 3, mode);
+            assertUnits(100, 99.96f, 0, mode);
+        }
+    }
+
+    @Test
+    public void roundsNegativeValuesSymmetrically() {
+        assertUnits(-1, -0.5f, 0, RoundingMode.HALF_UP);
+        assertUnits(0, -0.5f, 0, RoundingMode.HALF_EVEN);
+        assertUnits(-3, -2.5f, 0, RoundingMode.HALF_UP);
+        assertUnits(-2, -2.5f, 0, RoundingMode.HALF_EVEN);
+        assertUnits(-268, -2.675f, 2, RoundingMode.HALF_UP);
+        assertUnits(-266, -2.665f, 2, RoundingMode.HALF_EVEN);
+        assertUnits(-1000, -99.95f, 1, RoundingMode.HALF_UP);
+        assertEquals(-2.68f, ValueQuantizer.round(-2.675f, 2, RoundingMode.HALF_UP), 0);
+        assertEquals(-2.68, ValueQuantizer.round(-2.675, 2, RoundingMode.HALF_UP), 0);
+    }
+
+    @Test
+    public void supportsScaleZero() {
+        ValueQuantizer quantizer = new ValueQuantizer(0, RoundingMode.HALF_UP);
+        assertEquals(0, quantizer.getScale());
+        assertEquals(43, quantizer.toUnits(42.5f));
+        assertEquals(43f, quantizer.quantize(42.5f), 0);
+        assertEquals(43f, quantizer.fromUnits(43), 0);
+        assertEquals(1, ValueQuantizer.powerOfTen(0));
+    }
+
+    @Test
+    public void supportsTheMaximumScale() {
+        int scale = ValueQuantizer.MAXIMUM_SCALE;
+        assertEquals(18, scale);
+        assertEquals(1000000000000000000L, ValueQuantizer.powerOfTen(scale));
+        ValueQuantizer quantizer = new ValueQuantizer(scale, RoundingMode.HALF_EVEN);
+        assertEquals(500000000000000000L, quantizer.toUnits(0.5f));
+        assertEquals(-250000000000000000L, quantizer.toUnits(-0.25));
+        assertEquals(0.5f, quantizer.fromUnits(500000000000000000L), 0);
+        assertEquals(0.1f, quantizer.quantize(0.1f), 0);
+        assertEquals(0.1, ValueQuantizer.round(0.1, scale, RoundingMode.HALF_UP), 0);
+    }
+
+    @Test
+    public void clampsUnitsBeyondTheLongRange() {
+        ValueQuantizer quantizer = new ValueQuantizer(ValueQuantizer.MAXIMUM_SCALE, RoundingMode.HALF_UP);
+        // 9.2 * 10^18 still fits in a long, 10 * 10^18 does not
+        assertEquals(9200000000000000000L, quantizer.toUnits(9.2));
+        assertEquals(9200000000000000000L, quantizer.toUnits(9.2f));
+        assertEquals(Long.MAX_VALUE, new ValueQuantizer(0, RoundingMode.HALF_UP).toUnits(9.3e18f));
+        assertEquals(9000000000000000000L, new ValueQuantizer(0, RoundingMode.HALF_UP).toUnits(9e18));
+        assertEquals(Long.MAX_VALUE, quantizer.toUnits(10f));
+        assertEquals(-Long.MAX_VALUE, quantizer.toUnits(-10f));
+        assertEquals(Long.MAX_VALUE, new ValueQuantizer(0, RoundingMode.HALF_UP).toUnits(Float.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, new ValueQuantizer(2, RoundingMode.HALF_UP).toUnits(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void leavesValuesWithoutFractionalPrecisionUnchanged() {
+        assertEquals(Float.NaN, ValueQuantizer.round(Float.NaN, 2, RoundingMode.HALF_UP), 0);
+        assertEquals(Float.POSITIVE_INFINITY, ValueQuantizer.round(Float.POSITIVE_INFINITY, 2, RoundingMode.HALF_UP), 0);
+        assertEquals(Double.NEGATIVE_INFINITY, ValueQuantizer.round(Double.NEGATIVE_INFINITY, 2, RoundingMode.HALF_EVEN), 0);
+        assertEquals(1e17f, ValueQuantizer.round(1e17f, 2, RoundingMode.HALF_UP), 0);
+        assertEquals(1e30, ValueQuantizer.round(1e30, 18, RoundingMode.HALF_EVEN), 0);
+        assertEquals(9007199254740993d, ValueQuantizer.round(9007199254740993d, 0, RoundingMode.HALF_UP), 0);
+    }
+
+    @Test
+    public void rejectsInvalidArguments() {
+        assertRejected(-1, RoundingMode.HALF_UP);
+        assertRejected(ValueQuantizer.MAXIMUM_SCALE + 1, RoundingMode.HALF_UP);
+        assertRejected(2, RoundingMode.FLOOR);
+        assertRejected(2, RoundingMode.HALF_DOWN);
+        assertRejected(2, null);
+        try {
+            ValueQuantizer.round(1f, 19, RoundingMode.HALF_UP);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            //
+        }
+    }
+
+    @Test
+    public void unitsRoundTripThroughValues() {
+        ValueQuantizer quantizer = new ValueQuantizer(2, RoundingMode.HALF_UP);
+        for (long units = -100000; units <= 100000; units += 7) {
+            assertEquals(units, quantizer.toUnits(quantizer.fromUnits(units)));
+        }
+    }
+
+    @Test
+    public void matchesBigDecimalForRandomFloats() {
+        Random random = new Random(42);
+        for (int i = 0; i < RANDOM_SAMPLES; i++) {
+            int scale = random.nextInt(7);
+            float value = randomValue(random, scale);
+            for (RoundingMode mode : new RoundingMode[]{RoundingMode.HALF_UP, RoundingMode.HALF_EVEN}) {
+                long expected = shortestDecimal(value, mode).setScale(scale, mode).unscaledValue().longValue();
+                assertEquals(value + " at scale " + scale + " " + mode, expected, ValueQuantizer.toUnits(value, scale, mode));
+            }
+        }
+    }
+
+    @Test
+    public void matchesBigDecimalForRandomDoubles() {
+        Random random = new Random(7);
+        for (int i = 0; i < RANDOM_SAMPLES; i++) {
+            int scale = random.nextInt(10);
+            double value = randomValue(random, scale) + (random.nextBoolean() ? 0 : random.nextInt(1000) * 1e-9);
+            for (RoundingMode mode : new RoundingMode[]{RoundingMode.HALF_UP, RoundingMode.HALF_EVEN}) {
+                double expected = shortestDecimal(value, mode).setScale(scale, mode).doubleValue();
+                assertEquals(value + " at scale " + scale + " " + mode, expected, ValueQuantizer.round(value, scale, mode), 0);
+            }
+        }
+    }
+
+    /**
+     * Half of the values are exact ties at the scale, the others arbitrary values of a random magnitude.
+     */
+    private static float randomValue(Random random, int scale) {
+        float magnitude = (float) Math.pow(10, random.nextInt(6));
+        if (random.nextBoolean()) {
+            long tie = random.nextInt((int) Math.min(Integer.MAX_VALUE, magnitude * ValueQuantizer.powerOfTen(scale))) * 10L + 5;
+            return new BigDecimal(tie).movePointLeft(scale + 1).floatValue() * (random.nextBoolean() ? 1 : -1);
+        }
+        return (random.nextFloat() * 2 - 1) * magnitude;
+    }
+
+    /**
+     * @return the decimal with the fewest digits that converts back to the value, the rounding mode choosing between
+     * two such decimals when the value lies exactly between them
+     */
+    private static BigDecimal shortestDecimal(float value, RoundingMode mode) {
+        BigDecimal exact = new BigDecimal(value);
+        for (int digits = 0; ; digits++) {
+            BigDecimal decimal = exact.setScale(digits, mode);
+            if (decimal.floatValue() == value) {
+                return decimal;
+            }
+        }
+    }
+
+    private static BigDecimal shortestDecimal(double value, RoundingMode mode) {
+        BigDecimal exact = new BigDecimal(value);
+        for (int digits = 0; ; digits++) {
+            BigDecimal decimal = exact.setScale(digits, mode);
+            if (decimal.doubleValue() == value) {
+                return decimal;
+            }
+        }
+    }
+
+    private static void assertUnits(long expected, float value, int scale, RoundingMode mode) {
+        assertEquals(value + " at scale " + scale + " " + mode, expected, new ValueQuantizer(scale, mode).toUnits(value));
+        assertEquals(value + " as double at scale " + scale + " " + mode, expected,
+                new ValueQuantizer(scale, mode).toUnits(Double.parseDouble(Float.toString(value))));
+    }
+
+    private static void assertRejected(int scale, RoundingMode mode) {
+        try {
+            new ValueQuantizer(scale, mode);
+            fail("scale " + scale + ", " + mode);
+        } catch (IllegalArgumentException expected) {
+            //
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package rjsv.circularview.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValueTextBufferTest {
+
+    @Test
+    public void formatsUnitsAtTheirScale() {
+        assertText("0", 0, 0);
+        assertText("42", 42, 0);
+        assertText("100.0", 1000, 1);
+        assertText("0.05", 5, 2);
+        assertText("-0.05", -5, 2);
+        assertText("-12.345", -12345, 3);
+        assertText("0.000000000000000001", 1, 18);
+    }
+
+    @Test
+    public void formatsTheExtremesOfALong() {
+        assertText("9223372036854775807", Long.MAX_VALUE, 0);
+        assertText("-9223372036854775808", Long.MIN_VALUE, 0);
+        assertText("-9.223372036854775808", Long.MIN_VALUE, 18);
+    }
+
+    @Test
+    public void formatsFloatsFromTheirRoundedDecimal() {
+        assertFloatText("100.0", 99.95f, 1);
+        assertFloatText("2.68", 2.675f, 2);
+        assertFloatText("-1", -0.5f, 0);
+        assertFloatText("0.0", 0.04f, 1);
+    }
+
+    @Test
+    public void reportsOnlyChanges() {
+        ValueTextBuffer buffer = new ValueTextBuffer();
+        assertTrue(buffer.format(1000, 1));
+        assertFalse(buffer.format(1000, 1));
+        assertTrue(buffer.format(1000, 2));
+        assertFalse(buffer.format(10f, 2));
+        buffer.reset();
+        assertTrue(buffer.format(1000, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsScalesBeyondALong() {
+        new ValueTextBuffer().format(1, ValueQuantizer.MAXIMUM_SCALE + 1);
+    }
+
+    private static void assertText(String expected, long units, int scale) {
+        ValueTextBuffer buffer = new ValueTextBuffer();
+        buffer.format(units, scale);
+        assertEquals(expected, text(buffer));
+    }
+
+    private static void assertFloatText(String expected, float value, int decimalPlaces) {
+        ValueTextBuffer buffer = new ValueTextBuffer();
+        buffer.format(value, decimalPlaces);
+        assertEquals(expected, text(buffer));
+    }
+
+    private static String text(ValueTextBuffer buffer) {
+        return new String(buffer.getBuffer(), buffer.getStart(), buffer.getLength());
+    }
+
+}